@@ -0,0 +1,140 @@
+package com.globalsqa.bank.benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs the JMH benchmarks, keeps every run's JSON results and compares them with the previous run.
+ *
+ * Usage: {@code mvn -B -P benchmarks test-compile exec:exec [-Djmh.args="TableParsing -p rows=100"]}
+ * or {@code java -cp <test classpath> com.globalsqa.bank.benchmarks.BenchmarkLauncher [JMH options]}.
+ *
+ * Results go to -Dbenchmark.dir (default test-output/benchmarks) as yyyyMMdd-HHmmss.json. A score
+ * worse than the previous run's by more than -Dbenchmark.regressionPercent (default 10) and by more
+ * than both runs' error margins together is logged as a regression; with
+ * -Dbenchmark.failOnRegression=true the launcher then exits with 1.
+ */
+public final class BenchmarkLauncher {
+
+    private static final Logger log = LogManager.getLogger(BenchmarkLauncher.class);
+
+    private static final Path RESULTS_DIR = Paths.get(System.getProperty("benchmark.dir",
+            Paths.get(System.getProperty("user.dir"), "test-output", "benchmarks").toString()));
+    private static final double REGRESSION_PERCENT = Double.parseDouble(System.getProperty("benchmark.regressionPercent", "10"));
+
+    private BenchmarkLauncher() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args); // Nothing to run, let JMH print what was asked for
+            return;
+        }
+        Files.createDirectories(RESULTS_DIR);
+        Optional<Path> previous = latestResults();
+        Path file = RESULTS_DIR.resolve(new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .parent(options)
+                .resultFormat(ResultFormatType.JSON)
+                .result(file.toString())
+                .build()).run();
+        log.info("Benchmark results written to " + file);
+
+        int regressions = previous.isPresent() ? compare(previous.get(), results) : 0;
+        if (regressions > 0 && Boolean.getBoolean("benchmark.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Logs each benchmark's change against the previous results.
+     * @return Number of regressions.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Path previousFile, Collection<RunResult> results) throws IOException {
+        List<Map<String, Object>> previous = new Json().toType(
+                new String(Files.readAllBytes(previousFile), StandardCharsets.UTF_8), List.class);
+        Map<String, Map<String, Object>> previousByKey = new HashMap<>();
+        for (Map<String, Object> entry : previous) {
+            Map<String, Object> params = (Map<String, Object>) entry.get("params");
+            previousByKey.put(key((String) entry.get("benchmark"), params == null ? Map.of() : params),
+                    (Map<String, Object>) entry.get("primaryMetric"));
+        }
+
+        log.info("Compared with " + previousFile.getFileName() + ":");
+        int regressions = 0;
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Map<String, Object> paramValues = new TreeMap<>();
+            for (String name : params.getParamsKeys()) {
+                paramValues.put(name, params.getParam(name));
+            }
+            String key = key(params.getBenchmark(), paramValues);
+            Map<String, Object> before = previousByKey.get(key);
+            Result<?> now = result.getPrimaryResult();
+            if (before == null || !now.getScoreUnit().equals(before.get("scoreUnit"))) {
+                log.info(String.format("  %s: %.3f %s (new)", key, now.getScore(), now.getScoreUnit()));
+                continue;
+            }
+            double oldScore = ((Number) before.get("score")).doubleValue();
+            double oldError = before.get("scoreError") instanceof Number ? ((Number) before.get("scoreError")).doubleValue() : 0;
+            double newError = Double.isNaN(now.getScoreError()) ? 0 : now.getScoreError();
+            // Time per operation: lower is better; throughput: higher is better
+            boolean lowerIsBetter = now.getScoreUnit().endsWith("/op");
+            double worse = lowerIsBetter ? now.getScore() - oldScore : oldScore - now.getScore();
+            double percent = oldScore == 0 ? 0 : 100 * (now.getScore() - oldScore) / oldScore;
+            boolean regression = worse > oldError + newError && Math.abs(percent) > REGRESSION_PERCENT;
+            String line = String.format("  %s: %.3f -> %.3f %s (%+.1f%%)", key, oldScore, now.getScore(), now.getScoreUnit(), percent);
+            if (regression) {
+                regressions++;
+                log.warn(line + " REGRESSION");
+            } else {
+                log.info(line);
+            }
+        }
+        log.info(regressions + " regression(s) over " + REGRESSION_PERCENT + "%");
+        return regressions;
+    }
+
+    private static String key(String benchmark, Map<String, Object> params) {
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1); // Class.method
+        return params.isEmpty() ? name : name + new TreeMap<>(params);
+    }
+
+    /**
+     * @return The newest results file; names are timestamps, so the greatest name is the newest.
+     */
+    private static Optional<Path> latestResults() throws IOException {
+        try (Stream<Path> files = Files.list(RESULTS_DIR)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".json"))
+                    .max((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.globalsqa.bank.benchmarks;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process stand-in for a browser session, so benchmarks measure the client side of the
+ * page objects (command encoding, JSON decoding, element conversion, wait bookkeeping)
+ * without a browser's timing noise.
+ *
+ * Every answer is serialized to a W3C response body and decoded with Selenium's own codec,
+ * so a large table costs what it costs on the wire. The page is always "ready": Angular is
+ * stable and every located element is displayed. Table scripts return the rows set with
+ * {@link #setTable(List)}; findElements returns {@link #setElementCount(int)} elements.
+ */
+public class FakeBankDriver extends RemoteWebDriver {
+
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    public FakeBankDriver() {
+        super(new FakeExecutor(), new ImmutableCapabilities("browserName", "fake"));
+    }
+
+    /**
+     * @param rows Row-major cell values every table read returns.
+     */
+    public void setTable(List<List<String>> rows) {
+        executor().table = rows;
+    }
+
+    public void setElementCount(int count) {
+        executor().elementCount = count;
+    }
+
+    /**
+     * @return A table of {@code rows} transactions (Date-Time, Amount, Transaction Type).
+     */
+    public static List<List<String>> transactions(int rows) {
+        List<List<String>> table = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            table.add(List.of("Jan 1, 2025 10:" + (i % 60) + ":00 AM", String.valueOf(100 + i), i % 2 == 0 ? "Credit" : "Debit"));
+        }
+        return table;
+    }
+
+    /**
+     * @return A table of {@code rows} customers (First Name, Last Name, Post Code, Account Number, Delete).
+     */
+    public static List<List<String>> customers(int rows) {
+        List<List<String>> table = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            table.add(List.of("First" + i, "Last" + i, String.valueOf(10000 + i), String.valueOf(1000 + i), "Delete"));
+        }
+        return table;
+    }
+
+    private FakeExecutor executor() {
+        return (FakeExecutor) getCommandExecutor();
+    }
+
+    private static final class FakeExecutor implements CommandExecutor {
+
+        private static final SessionId SESSION = new SessionId("fake");
+
+        private final Json json = new Json();
+        private final W3CHttpResponseCodec codec = new W3CHttpResponseCodec();
+        private volatile List<List<String>> table = Collections.emptyList();
+        private volatile int elementCount = 1;
+
+        @Override
+        public Response execute(Command command) {
+            switch (command.getName()) {
+                case DriverCommand.NEW_SESSION:
+                    Response session = new Response(SESSION);
+                    session.setState("success");
+                    session.setValue(new ImmutableCapabilities("browserName", "fake").asMap());
+                    return session;
+                case DriverCommand.EXECUTE_SCRIPT:
+                    return respond(table);
+                case DriverCommand.EXECUTE_ASYNC_SCRIPT:
+                    return respond(true); // Angular is always stable
+                case DriverCommand.FIND_ELEMENT:
+                    return respond(element(0));
+                case DriverCommand.FIND_ELEMENTS:
+                    List<Object> elements = new ArrayList<>(elementCount);
+                    for (int i = 0; i < elementCount; i++) {
+                        elements.add(element(i));
+                    }
+                    return respond(elements);
+                case DriverCommand.IS_ELEMENT_DISPLAYED:
+                case DriverCommand.IS_ELEMENT_ENABLED:
+                    return respond(true);
+                default:
+                    return respond(null);
+            }
+        }
+
+        private static Map<String, String> element(int index) {
+            return Collections.singletonMap(ELEMENT_KEY, "e" + index);
+        }
+
+        private Response respond(Object value) {
+            HttpResponse response = new HttpResponse()
+                    .setHeader("Content-Type", "application/json; charset=utf-8")
+                    .setContent(Contents.utf8String(json.toJson(Collections.singletonMap("value", value))));
+            Response decoded = codec.decode(response);
+            decoded.setSessionId(SESSION.toString());
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.globalsqa.bank.benchmarks;
+
+import com.globalsqa.bank.utils.BrowserProfile;
+import com.globalsqa.bank.utils.LocalBankServer;
+import com.globalsqa.bank.utils.WaitPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The page objects' XPath locators against CSS equivalents, on the local stand-in app's
+ * customer list in headless Chrome (needs a Chrome install, like the tests).
+ *
+ * findElements: one lookup as the page objects do it, round trip included.
+ * evaluateInPage: the selector engine alone, {@value #EVALUATIONS} evaluations in one script call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dbank.target=local")
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+
+    static final int EVALUATIONS = 100;
+
+    // Locators used by ManagerPage, each with the CSS selector matching the same elements
+    private static final Map<String, String[]> LOCATORS = Map.of(
+            "addCustomerTab", new String[]{"//button[@ng-click='addCust()']", "button[ng-click='addCust()']"},
+            "customerRows", new String[]{"//table[@class='table table-bordered table-striped']/tbody/tr",
+                    "table.table.table-bordered.table-striped > tbody > tr"},
+            "searchInput", new String[]{"//input[@placeholder = 'Search Customer']", "input[placeholder='Search Customer']"},
+            "deleteButtons", new String[]{"//button[@ng-click='deleteCust(cust)']", "button[ng-click='deleteCust(cust)']"});
+
+    private static final String XPATH_SCRIPT =
+            "var count = 0;" +
+            "for (var i = 0; i < arguments[1]; i++) {" +
+            "  count += document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;" +
+            "}" +
+            "return count;";
+
+    private static final String CSS_SCRIPT =
+            "var count = 0;" +
+            "for (var i = 0; i < arguments[1]; i++) { count += document.querySelectorAll(arguments[0]).length; }" +
+            "return count;";
+
+    @Param({"addCustomerTab", "customerRows", "searchInput", "deleteButtons"})
+    public String locator;
+
+    @Param({"xpath", "css"})
+    public String strategy;
+
+    private WebDriver driver;
+    private By by;
+    private String selector;
+    private String script;
+
+    @Setup
+    public void setUp() {
+        String[] pair = LOCATORS.get(locator);
+        boolean xpath = strategy.equals("xpath");
+        selector = xpath ? pair[0] : pair[1];
+        by = xpath ? By.xpath(selector) : By.cssSelector(selector);
+        script = xpath ? XPATH_SCRIPT : CSS_SCRIPT;
+
+        driver = new ChromeDriver(BrowserProfile.HEADLESS.chromeOptions());
+        WaitPolicy.applyTo(driver);
+        driver.get(LocalBankServer.loginUrl().replace("#/login", "#/manager/list"));
+        WaitPolicy.newWait(driver).until(ExpectedConditions.numberOfElementsToBeMoreThan(By.xpath(LOCATORS.get("customerRows")[0]), 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        LocalBankServer.stop();
+    }
+
+    @Benchmark
+    public List<WebElement> findElements() {
+        return driver.findElements(by);
+    }
+
+    @Benchmark
+    public Object evaluateInPage() {
+        return ((JavascriptExecutor) driver).executeScript(script, selector, EVALUATIONS);
+    }
+}
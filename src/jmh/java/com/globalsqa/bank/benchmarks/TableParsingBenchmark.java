@@ -0,0 +1,82 @@
+package com.globalsqa.bank.benchmarks;
+
+import com.globalsqa.bank.pages.ManagerPage;
+import com.globalsqa.bank.pages.TransactionsPage;
+import com.globalsqa.bank.utils.TableSnapshot;
+import com.globalsqa.bank.utils.WaitPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the transaction and customer tables through the page objects, against
+ * {@link FakeBankDriver}: one script call per read plus decoding and matching of the rows.
+ * fromCells isolates the snapshot building from the driver round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableParsingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private FakeBankDriver transactionsDriver;
+    private FakeBankDriver managerDriver;
+    private TransactionsPage transactionsPage;
+    private ManagerPage managerPage;
+    private List<List<String>> transactionCells;
+    private String[] lastCustomer;
+
+    @Setup
+    public void setUp() {
+        transactionCells = FakeBankDriver.transactions(rows);
+        transactionsDriver = new FakeBankDriver();
+        transactionsDriver.setTable(transactionCells);
+        transactionsPage = new TransactionsPage(transactionsDriver, WaitPolicy.newWait(transactionsDriver));
+
+        List<List<String>> customerCells = FakeBankDriver.customers(rows);
+        managerDriver = new FakeBankDriver();
+        managerDriver.setTable(customerCells);
+        managerPage = new ManagerPage(managerDriver, WaitPolicy.newWait(managerDriver));
+        List<String> last = customerCells.get(rows - 1); // Worst case: the match is the last row
+        lastCustomer = new String[]{last.get(0), last.get(1), last.get(2)};
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionsDriver.quit();
+        managerDriver.quit();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> getAllTransactions() {
+        return transactionsPage.getAllTransactions(rows);
+    }
+
+    @Benchmark
+    public boolean isCustomerPresentTable() {
+        return managerPage.isCustomerPresentTable(lastCustomer[0], lastCustomer[1], lastCustomer[2]);
+    }
+
+    @Benchmark
+    public TableSnapshot fromCells() {
+        return TableSnapshot.fromCells(transactionCells);
+    }
+}
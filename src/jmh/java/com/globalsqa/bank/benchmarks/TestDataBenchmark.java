@@ -0,0 +1,38 @@
+package com.globalsqa.bank.benchmarks;
+
+import com.globalsqa.bank.utils.Customer;
+import com.globalsqa.bank.utils.TestDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer generation, alone and with as many threads as a parallel run on four cores
+ * (all of them draw from the same counter).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtestdata.seed=42")
+public class TestDataBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public Customer nextCustomer() {
+        return TestDataGenerator.nextCustomer();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Customer nextCustomerContended() {
+        return TestDataGenerator.nextCustomer();
+    }
+}
@@ -0,0 +1,88 @@
+package com.globalsqa.bank.benchmarks;
+
+import com.globalsqa.bank.utils.AngularWait;
+import com.globalsqa.bank.utils.WaitPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of one satisfied poll of the waits the page objects use, against {@link FakeBankDriver}.
+ * plainWait is a bare WebDriverWait; the difference to policyWait is the bookkeeping
+ * {@link WaitPolicy} adds to every wait (condition naming, {@code CommandTimings}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WaitPollingBenchmark {
+
+    private static final By TABLE_ROWS = By.xpath("//table[@class='table table-bordered table-striped']/tbody/tr");
+
+    private final Function<WebDriver, Boolean> ready = d -> Boolean.TRUE;
+
+    private FakeBankDriver driver;
+    private FakeBankDriver emptyDriver;
+    private WebDriverWait policyWait;
+    private WebDriverWait plainWait;
+    private WebDriverWait emptyWait;
+
+    @Setup
+    public void setUp() {
+        driver = new FakeBankDriver();
+        policyWait = WaitPolicy.newWait(driver);
+        plainWait = new WebDriverWait(driver, WaitPolicy.TIMEOUT, WaitPolicy.POLLING);
+        emptyDriver = new FakeBankDriver();
+        emptyDriver.setElementCount(0);
+        emptyWait = WaitPolicy.newWait(emptyDriver);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        emptyDriver.quit();
+    }
+
+    @Benchmark
+    public Boolean plainWait() {
+        return plainWait.until(ready);
+    }
+
+    @Benchmark
+    public Boolean policyWait() {
+        return policyWait.until(ready);
+    }
+
+    @Benchmark
+    public WebElement visibilityOfElementLocated() {
+        return policyWait.until(ExpectedConditions.visibilityOfElementLocated(TABLE_ROWS));
+    }
+
+    @Benchmark
+    public Boolean absenceOf() {
+        return emptyWait.until(WaitPolicy.absenceOf(TABLE_ROWS));
+    }
+
+    @Benchmark
+    public void waitForAngular() {
+        AngularWait.waitForAngular(driver, policyWait);
+    }
+}
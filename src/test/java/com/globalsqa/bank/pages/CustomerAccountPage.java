@@ -1,22 +1,40 @@
 package com.globalsqa.bank.pages;
 
+import com.globalsqa.bank.utils.AngularWait;
+import com.globalsqa.bank.utils.ExecutionMode;
+import com.globalsqa.bank.utils.PagePerformance;
+import com.globalsqa.bank.utils.ScriptedFlow;
+import com.globalsqa.bank.utils.TransactionResult;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.Map;
+
 public class CustomerAccountPage {
     private WebDriver driver;
     private WebDriverWait wait;
 
     // --- Customer Account Page Locators ---
-    private By depositTab = By.xpath("//button[@ng-click='deposit()']");
-    private By withdrawlTab = By.xpath("//button[@ng-click='withdrawl()']");
+    // XPath strings are shared by the By locators and the scripted fast path
+    private static final String DEPOSIT_TAB_XPATH = "//button[@ng-click='deposit()']";
+    private static final String WITHDRAWL_TAB_XPATH = "//button[@ng-click='withdrawl()']";
+    private static final String WITHDRAWAL_AMOUNT_LABEL_XPATH = "//label[text()='Amount to be Withdrawn :']";
+    private static final String AMOUNT_INPUT_XPATH = "//input[@placeholder='amount']";
+    private static final String SUBMIT_BUTTON_XPATH = "//button[@type='submit']";
+    private static final String BALANCE_XPATH = "//strong[@class='ng-binding'][2]";
+    private static final String TRANSACTION_MESSAGE_XPATH = "//span[@ng-show='message']";
+
+    private By depositTab = By.xpath(DEPOSIT_TAB_XPATH);
+    private By withdrawlTab = By.xpath(WITHDRAWL_TAB_XPATH);
+    private By withdrawalAmountLabel = By.xpath(WITHDRAWAL_AMOUNT_LABEL_XPATH);
     private By transactionsTab = By.xpath("//button[@ng-click='transactions()']");
     // Common elements for amount input and submit button on deposit/withdraw forms
-    private By amountInput = By.xpath("//input[@placeholder='amount']");
-    private By submitButton = By.xpath("//button[@type='submit']"); // Generic submit button
-    private By balanceValue = By.xpath("//strong[@class='ng-binding'][2]");
+    private By amountInput = By.xpath(AMOUNT_INPUT_XPATH);
+    private By submitButton = By.xpath(SUBMIT_BUTTON_XPATH); // Generic submit button
+    private By balanceValue = By.xpath(BALANCE_XPATH);
 
     private By logoutBtn = By.xpath("//button[@ng-show='logout']");
     private By homeBtn = By.xpath("//button[@ng-click='home()']");
@@ -25,19 +43,21 @@ public class CustomerAccountPage {
     private By welcomeMessage = By.xpath("//span[@class='fontBig ng-binding']");
 
     // For messages after deposit/withdrawal
-    private By transactionMessage = By.xpath("//span[@ng-show='message']"); // This span shows "Deposit Successful" or "Transaction Failed"
+    private By transactionMessage = By.xpath(TRANSACTION_MESSAGE_XPATH); // This span shows "Deposit Successful" or "Transaction Failed"
 
     public CustomerAccountPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
         // Wait until the balance display is visible to confirm page load
         wait.until(ExpectedConditions.visibilityOfElementLocated(balanceValue));
+        PagePerformance.capture(driver, "account.page");
     }
 
     // --- Action Methods ---
 
     public void clickDepositTab() {
         wait.until(ExpectedConditions.elementToBeClickable(depositTab)).click();
+        waitForAngular();
         wait.until(ExpectedConditions.visibilityOfElementLocated(amountInput));
     }
     /**
@@ -53,6 +73,8 @@ public class CustomerAccountPage {
 
     public void clickSubmitButton() {
         wait.until(ExpectedConditions.elementToBeClickable(submitButton)).click();
+        waitForAngular();
+        PagePerformance.capture(driver, "account.submit");
     }
 
     /**
@@ -60,9 +82,29 @@ public class CustomerAccountPage {
      * @return The current balance as an integer.
      */
     public int getCurrentBalance() {
+        return Integer.parseInt(getCurrentBalanceText()); // Convert text to integer
+    }
+
+    /**
+     * Gets the current account balance exactly as the page shows it.
+     * @return The balance text.
+     */
+    public String getCurrentBalanceText() {
         // Wait for the balance to be updated/visible, then get text
-        String balanceText = wait.until(ExpectedConditions.visibilityOfElementLocated(balanceValue)).getText();
-        return Integer.parseInt(balanceText); // Convert text to integer
+        return wait.until(ExpectedConditions.visibilityOfElementLocated(balanceValue)).getText();
+    }
+
+    /**
+     * Reads the status message and balance as they are now, without waiting for a message to appear,
+     * e.g. after a submission the form's validation blocked.
+     * @return The message (empty if none is shown) and the balance text.
+     */
+    public TransactionResult readTransactionState() {
+        String message = driver.findElements(transactionMessage).stream()
+                .filter(WebElement::isDisplayed)
+                .map(WebElement::getText)
+                .findFirst().orElse("");
+        return new TransactionResult(message, getCurrentBalanceText());
     }
 
     /**
@@ -82,6 +124,9 @@ public class CustomerAccountPage {
 
     public void clickWithdrawalTab() {
         wait.until(ExpectedConditions.elementToBeClickable(withdrawlTab)).click();
+        waitForAngular();
+        // Deposit and withdrawal forms share the amount input locator; make sure the withdrawal form is the one shown
+        wait.until(ExpectedConditions.visibilityOfElementLocated(withdrawalAmountLabel));
         wait.until(ExpectedConditions.elementToBeClickable(amountInput));
     }
 
@@ -93,6 +138,7 @@ public class CustomerAccountPage {
 
     public TransactionsPage clickTransactionsTab() {
         wait.until(ExpectedConditions.elementToBeClickable(transactionsTab)).click();
+        waitForAngular();
         // After clicking, the page will transition to the transactions page.
         // Return a new TransactionPage object to interact with the new page.
         return new TransactionsPage(driver, wait);// Returns the next page object
@@ -102,32 +148,74 @@ public class CustomerAccountPage {
 
 
 
+    /**
+     * Performs a deposit operation in the run's default {@link ExecutionMode}.
+     *
+     * @param amount The amount to deposit.
+     * @return The status message and the balance afterwards.
+     */
+    public TransactionResult depositFunds(String amount) {
+        return depositFunds(amount, ExecutionMode.current());
+    }
+
     /**
      * Performs a deposit operation.
      *
      * @param amount The amount to deposit.
+     * @param mode UI to click through the form, SCRIPT to run the whole flow in one script call.
+     * @return The status message and the balance afterwards.
      */
-    public void depositFunds(String amount) {
+    public TransactionResult depositFunds(String amount, ExecutionMode mode) {
+        if (mode == ExecutionMode.SCRIPT) {
+            return runTransaction(new ScriptedFlow(driver)
+                    .click(DEPOSIT_TAB_XPATH)
+                    .fill(AMOUNT_INPUT_XPATH, amount)
+                    .click(SUBMIT_BUTTON_XPATH)
+                    .read("message", TRANSACTION_MESSAGE_XPATH)
+                    .read("balance", BALANCE_XPATH));
+        }
         clickDepositTab();
-         enterDepositAmount(amount);
+        enterDepositAmount(amount);
         clickSubmitButton();
+        return new TransactionResult(getTransactionStatusMessage(), getCurrentBalanceText());
+    }
+
+    /**
+     * Performs a withdrawal operation in the run's default {@link ExecutionMode}.
+     *
+     * @param amount The amount to withdraw.
+     * @return The status message and the balance afterwards.
+     */
+    public TransactionResult withdrawFunds(String amount) {
+        return withdrawFunds(amount, ExecutionMode.current());
     }
 
     /**
      * Performs a withdrawal operation.
      *
      * @param amount The amount to withdraw.
+     * @param mode UI to click through the form, SCRIPT to run the whole flow in one script call.
+     * @return The status message and the balance afterwards.
      */
-    public void withdrawFunds(String amount) throws InterruptedException {
+    public TransactionResult withdrawFunds(String amount, ExecutionMode mode) {
+        if (mode == ExecutionMode.SCRIPT) {
+            return runTransaction(new ScriptedFlow(driver)
+                    .click(WITHDRAWL_TAB_XPATH)
+                    .await(WITHDRAWAL_AMOUNT_LABEL_XPATH)
+                    .fill(AMOUNT_INPUT_XPATH, amount)
+                    .click(SUBMIT_BUTTON_XPATH)
+                    .read("message", TRANSACTION_MESSAGE_XPATH)
+                    .read("balance", BALANCE_XPATH));
+        }
         clickWithdrawalTab();
-        Thread.sleep(3000);
-             enterWithdrawalAmount(amount);
+        enterWithdrawalAmount(amount);
         clickSubmitButton();
-
+        return new TransactionResult(getTransactionStatusMessage(), getCurrentBalanceText());
     }
 
     public void clickHomeButton() {
         wait.until(ExpectedConditions.elementToBeClickable(homeBtn)).click();
+        waitForAngular();
     }
 
     public String getWithdrawalErrorMessage() {
@@ -165,5 +253,16 @@ public class CustomerAccountPage {
         return driver.findElement(transactionMessage).getText();
     }
 
-}
+    private TransactionResult runTransaction(ScriptedFlow flow) {
+        Map<String, Object> flowResult = flow.run();
+        PagePerformance.capture(driver, "account.submit");
+        return new TransactionResult((String) flowResult.get("message"), (String) flowResult.get("balance"));
+    }
 
+    /**
+     * Waits for the Angular app to finish the work triggered by the last action.
+     */
+    private void waitForAngular() {
+        AngularWait.waitForAngular(driver, wait);
+    }
+}
@@ -1,5 +1,7 @@
 package com.globalsqa.bank.pages;
 
+import com.globalsqa.bank.utils.AngularWait;
+import com.globalsqa.bank.utils.PagePerformance;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -30,13 +32,16 @@ public class LoginPage {
      *  */
     public void navigateToLoginPage(String url) {
         driver.get(url);
+        waitForAngular();
+        PagePerformance.capture(driver, "login.page");
     }
     /*
      * Clicks on the Customer Login button.
      */
 
     public void clickCustomerLoginButton() {
-        driver.findElement(customerLoginBtn).click();
+        wait.until(ExpectedConditions.elementToBeClickable(customerLoginBtn)).click();
+        waitForAngular();
     }
 
     /*
@@ -51,6 +56,7 @@ public class LoginPage {
 
     public void clickLoginButton() {
         wait.until(ExpectedConditions.elementToBeClickable(loginBtn)).click();
+        waitForAngular();
 
     }
     /**
@@ -69,7 +75,10 @@ public class LoginPage {
 
     public ManagerPage loginAsManager (String url){
         driver.get(url);
+        waitForAngular();
+        PagePerformance.capture(driver, "login.page");
         wait.until(ExpectedConditions.elementToBeClickable(bankManagerLoginBtn)).click();
+        waitForAngular();
         return new ManagerPage(driver, wait);
     }
 
@@ -81,7 +90,7 @@ public class LoginPage {
      */
 
     public boolean isCustomerSelectDropdownDisplayed (){
-        return driver.findElement(customerSelectDropdown).isDisplayed();
+        return wait.until(ExpectedConditions.visibilityOfElementLocated(customerSelectDropdown)).isDisplayed();
     }
 
     /**
@@ -93,4 +102,10 @@ public class LoginPage {
 
     }
 
+    /**
+     * Waits for the Angular app to finish the work triggered by the last action.
+     */
+    private void waitForAngular() {
+        AngularWait.waitForAngular(driver, wait);
+    }
 }
@@ -1,37 +1,57 @@
 package com.globalsqa.bank.pages;
 
+import com.globalsqa.bank.utils.AlertInterceptor;
+import com.globalsqa.bank.utils.AngularWait;
+import com.globalsqa.bank.utils.ExecutionMode;
+import com.globalsqa.bank.utils.PagePerformance;
+import com.globalsqa.bank.utils.ScriptedFlow;
+import com.globalsqa.bank.utils.TableFilter;
+import com.globalsqa.bank.utils.TableSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.util.List;
+import java.util.Optional;
 
 public class ManagerPage {
+    private static final Logger log = LogManager.getLogger(ManagerPage.class);
     private WebDriver driver;
     private WebDriverWait wait;
+    private AlertInterceptor.Mode alertMode = AlertInterceptor.Mode.NATIVE;
+    // XPath strings are shared by the By locators and the scripted fast path
+    private static final String ADD_CUSTOMER_TAB_XPATH = "//button[@ng-click='addCust()']";
+    private static final String OPEN_ACCOUNT_TAB_XPATH = "//button[@ng-click='openAccount()']";
+    private static final String FIRST_NAME_INPUT_XPATH = "//input[@placeholder='First Name']";
+    private static final String LAST_NAME_INPUT_XPATH = "//input[@placeholder='Last Name']";
+    private static final String POST_CODE_INPUT_XPATH = "//input[@placeholder='Post Code']";
+    private static final String CUSTOMER_DROPDOWN_XPATH = "//select[@id='userSelect']";
+    private static final String CURRENCY_DROPDOWN_XPATH = "//select[@id='currency']";
+    private static final String SUBMIT_BUTTON_XPATH = "//button[@type='submit']";
+
     // Locators for elements on the Manager Account Page
-    private By addCustomerTab = By.xpath("//button[@ng-click='addCust()']");
-    private By openAccountTab = By.xpath("//button[@ng-click='openAccount()']");
+    private By addCustomerTab = By.xpath(ADD_CUSTOMER_TAB_XPATH);
+    private By openAccountTab = By.xpath(OPEN_ACCOUNT_TAB_XPATH);
     private By customersTab = By.xpath("//button[@ng-click='showCust()']");
     private By homeBtn = By.xpath("//button[@ng-click='home()']");
 
     // --- Add Customer Form Locators ---
-    public By firstNameInput = By.xpath("//input[@placeholder='First Name']");
-    public By lastNameInput = By.xpath("//input[@placeholder='Last Name']");
-    public By postCodeInput = By.xpath("//input[@placeholder='Post Code']");
-    private By addCustomerSubmitButton = By.xpath("//button[@type='submit']");
+    public By firstNameInput = By.xpath(FIRST_NAME_INPUT_XPATH);
+    public By lastNameInput = By.xpath(LAST_NAME_INPUT_XPATH);
+    public By postCodeInput = By.xpath(POST_CODE_INPUT_XPATH);
+    private By addCustomerSubmitButton = By.xpath(SUBMIT_BUTTON_XPATH);
 
     // --- Open Account From Locators ---
     private By customerDropdown = By.id("userSelect");
     private By currencyDropdown = By.id("currency");
-    private By processButton = By.xpath("//button[@type='submit']");
+    private By processButton = By.xpath(SUBMIT_BUTTON_XPATH);
 
     // --- Customers Tab Locators ---
     private By customerTable = By.xpath("//table[@class='table table-bordered table-striped']");
-    private By customerTableRows = By.xpath("//table[@class='table table-bordered table-striped']/tbody/tr");
-    private By customerTableSeach = By.xpath("//input[@placeholder = 'Search Customer']");
-    private By deleteButtonInRow = By.xpath("//button[@ng-click = 'deleteCust(cust)']");
+    private static final String CUSTOMER_ROWS_XPATH = "//table[@class='table table-bordered table-striped']/tbody/tr";
+    private static final String CUSTOMER_SEARCH_XPATH = "//input[@placeholder = 'Search Customer']";
 
 
     // --- Constructor ---
@@ -39,6 +59,23 @@ public class ManagerPage {
         this.driver = driver;
         this.wait = wait;
         wait.until(ExpectedConditions.visibilityOfElementLocated(addCustomerTab));
+        setAlertMode(AlertInterceptor.mode());
+        PagePerformance.capture(driver, "manager.page");
+    }
+
+    /**
+     * Chooses how the alerts raised by the manager flows are read.
+     *
+     * @param mode NATIVE to wait for and accept the browser dialog, INTERCEPT to capture
+     *             window.alert in the page and read the messages from a queue.
+     */
+    public void setAlertMode(AlertInterceptor.Mode mode) {
+        if (mode == AlertInterceptor.Mode.INTERCEPT) {
+            AlertInterceptor.install(driver);
+        } else if (alertMode == AlertInterceptor.Mode.INTERCEPT) {
+            AlertInterceptor.uninstall(driver);
+        }
+        alertMode = mode;
     }
 
     // --- Actions Methods ---
@@ -61,45 +98,123 @@ public class ManagerPage {
 
     public void clickAddCustomerTab() {
         wait.until(ExpectedConditions.elementToBeClickable(addCustomerTab)).click();
+        waitForAngular();
     }
 
     public void clickOpenAccountTab() {
         wait.until(ExpectedConditions.elementToBeClickable(openAccountTab)).click();
+        waitForAngular();
     }
 
     public void clickCustomersTab() {
         wait.until(ExpectedConditions.elementToBeClickable(customersTab)).click();
+        waitForAngular();
         wait.until(ExpectedConditions.visibilityOfElementLocated(customerTable));
     }
 
     public void clickHomeButton() {
         wait.until(ExpectedConditions.elementToBeClickable(homeBtn)).click();
+        waitForAngular();
     }
 
     public void clickAddCustomerSubmitButton() {
+        armAlertHook();
         wait.until(ExpectedConditions.elementToBeClickable(addCustomerSubmitButton)).click();
     }
 
     /**
      * Handles any JavaScript alert that appears after adding a customer.
      * This alert typically confirms successful customer addition.
+     * In INTERCEPT mode the message is taken from the page-side queue instead.
      *
      * @return The text of the alert.
      */
 
     public String getAlertTextAndAccept() {
+        if (alertMode == AlertInterceptor.Mode.INTERCEPT) {
+            String alertText = AlertInterceptor.next(driver, wait);
+            waitForAngular();
+            return alertText;
+        }
         try {
-            wait.until(ExpectedConditions.alertIsPresent());
-            String alertText = driver.switchTo().alert().getText();
-            driver.switchTo().alert().accept();
+            Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+            String alertText = alert.getText();
+            alert.accept();
+            waitForAngular(); // The app finishes its digest only once the alert is closed
             return alertText;
         } catch (NoAlertPresentException e) {
-            System.out.println("No alert appeared.");
+            log.warn("No alert appeared.");
             return null;
         }
 
     }
 
+    /**
+     * Adds a customer in the run's default {@link ExecutionMode} and accepts the confirmation alert.
+     *
+     * @return The text of the alert.
+     */
+    public String addCustomer(String firstName, String lastName, String postCode) {
+        return addCustomer(firstName, lastName, postCode, ExecutionMode.current());
+    }
+
+    /**
+     * Adds a customer and accepts the confirmation alert.
+     *
+     * @param mode UI to click through the form, SCRIPT to run the whole flow in one script call.
+     * @return The text of the alert.
+     */
+    public String addCustomer(String firstName, String lastName, String postCode, ExecutionMode mode) {
+        if (mode == ExecutionMode.SCRIPT) {
+            return (String) new ScriptedFlow(driver)
+                    .click(ADD_CUSTOMER_TAB_XPATH)
+                    .fill(FIRST_NAME_INPUT_XPATH, firstName)
+                    .fill(LAST_NAME_INPUT_XPATH, lastName)
+                    .fill(POST_CODE_INPUT_XPATH, postCode)
+                    .click(SUBMIT_BUTTON_XPATH)
+                    .run()
+                    .get("alert");
+        }
+        clickAddCustomerTab();
+        fillAddCustomerForm(firstName, lastName, postCode);
+        clickAddCustomerSubmitButton();
+        return getAlertTextAndAccept();
+    }
+
+    /**
+     * Opens an account in the run's default {@link ExecutionMode} and accepts the confirmation alert.
+     *
+     * @return The text of the alert.
+     */
+    public String openAccount(String customerName, String currency) {
+        return openAccount(customerName, currency, ExecutionMode.current());
+    }
+
+    /**
+     * Opens an account and accepts the confirmation alert.
+     *
+     * @param customerName The full name of the customer, as shown in the dropdown.
+     * @param currency     The currency of the account (e.g., "Dollar", "Pound", "Rupee").
+     * @param mode         UI to click through the form, SCRIPT to run the whole flow in one script call.
+     * @return The text of the alert.
+     */
+    public String openAccount(String customerName, String currency, ExecutionMode mode) {
+        if (mode == ExecutionMode.SCRIPT) {
+            return (String) new ScriptedFlow(driver)
+                    .click(OPEN_ACCOUNT_TAB_XPATH)
+                    .fill(CUSTOMER_DROPDOWN_XPATH, customerName)
+                    .fill(CURRENCY_DROPDOWN_XPATH, currency)
+                    .click(SUBMIT_BUTTON_XPATH)
+                    .run()
+                    .get("alert");
+        }
+        clickOpenAccountTab();
+        selectCustomerForAccount(customerName);
+        selectCurrencyForAccount(currency);
+        clickProcessButton();
+        return getAlertTextAndAccept();
+    }
+
     public boolean isAddCustomerTabDisplayed() {
         return wait.until(ExpectedConditions.visibilityOfElementLocated(addCustomerTab)).isDisplayed();
     }
@@ -137,38 +252,30 @@ public class ManagerPage {
      * Clicks the Process button to open the account.
      */
     public void clickProcessButton() {
+        armAlertHook();
         wait.until(ExpectedConditions.elementToBeClickable(processButton)).click();
     }
 
     /**
      * Searches for a customer by first name, last name, or postcode.
-     * Note: This assumes the search input filters the table.
      *
-     * @param searchText The text to enter in the search field.
+     * @param searchText The text to enter in the search field; empty to show every customer.
      */
     public void searchCustomer(String searchText) {
-        WebElement searchField = wait.until(ExpectedConditions.visibilityOfElementLocated(customerTableSeach));
-
-        String currentText = searchField.getAttribute("value");
-        if (currentText != null && !currentText.isEmpty()) {
-            // Arama kutusunu tamamen temizle
-            searchField.sendKeys(Keys.CONTROL + "a"); // Tüm metni seç
-            searchField.sendKeys(Keys.DELETE);         // Metni sil
-
-            // Eğer üstteki komut çalışmazsa alternatif olarak backspace kullanabiliriz:
-            // for (int i = 0; i < currentText.length(); i++) {
-            //     searchField.sendKeys(Keys.BACK_SPACE);
-            // }
-            // try { Thread.sleep(200); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
-        }
+        searchCustomers(searchText);
+    }
 
-        if (!searchText.isEmpty()) {
-            searchField.sendKeys(searchText);
-            try { Thread.sleep(500); } catch (InterruptedException e) { Thread.currentThread().interrupt(); } // Arama sonucunun filtrelenmesi için daha uzun bekleme
-        } else {
-            // Eğer boş arama yapılıyorsa ve arama çubuğu temizlendiyse, tablonun yeniden yüklenmesini bekleyelim
-            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(customerTableRows));
-        }
+    /**
+     * Filters the customer table and returns the rows it shows once the filter has been applied,
+     * in a single script call (no sleeps, no stale rows from before the filter).
+     *
+     * @param searchText The text to enter in the search field; empty to show every customer.
+     * @return Snapshot of the filtered First Name, Last Name, Post Code and Account Number columns.
+     */
+    public TableSnapshot searchCustomers(String searchText) {
+        TableSnapshot rows = TableFilter.apply(driver, CUSTOMER_SEARCH_XPATH, searchText, CUSTOMER_ROWS_XPATH);
+        PagePerformance.capture(driver, "manager.search");
+        return rows;
     }
 
     /**
@@ -180,22 +287,18 @@ public class ManagerPage {
      * @return true if the customer is found, false otherwise.
      */
     public boolean isCustomerPresentTable(String firstName, String lastName, String postCode) {
-        List<WebElement> rows = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(customerTableRows));
-
-        for (WebElement row : rows) {
-            List<WebElement> cells = row.findElements(By.tagName("td"));
-
-            if (cells.size() >= 3) {
-                String actualFirstName = cells.get(0).getText();
-                String actualLastName = cells.get(1).getText();
-                String actualPostCode = cells.get(2).getText();
+        return getCustomerTable().findByColumns(firstName, lastName, postCode).isPresent();
+    }
 
-                if (actualFirstName.equals(firstName) && actualLastName.equals(lastName) && actualPostCode.equals(postCode)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    /**
+     * Reads the (possibly filtered) customer table in one round trip, waiting until it has at least one row.
+     * @return Snapshot of the First Name, Last Name, Post Code and Account Number columns.
+     */
+    public TableSnapshot getCustomerTable() {
+        return wait.until(d -> {
+            TableSnapshot table = TableSnapshot.capture(d, CUSTOMER_ROWS_XPATH);
+            return table.isEmpty() ? null : table;
+        });
     }
 
    /**
@@ -206,36 +309,43 @@ public class ManagerPage {
      */
     public boolean deleteCustomerAndVerifyDisappearance(String firstName, String lastName, String postCode) {
         // Müşterinin bulunduğu satırı bulup silme butonuna tıkla
-        List<WebElement> rows = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(customerTableRows));
-        WebElement customerRow = null;
-        for (WebElement row : rows) {
-            List<WebElement> cells = row.findElements(By.tagName("td"));
-            if (cells.size() >= 2 && cells.get(0).getText().equals(firstName) && cells.get(1).getText().equals(lastName)) {
-                customerRow = row;
-                break;
-            }
-        }
+        Optional<TableSnapshot.Row> customerRow = getCustomerTable().findByColumns(firstName, lastName);
 
-        if (customerRow != null) {
-            WebElement deleteButton = wait.until(ExpectedConditions.elementToBeClickable(customerRow.findElement(deleteButtonInRow)));
-            deleteButton.click();
+        if (customerRow.isPresent()) {
+            By rowDeleteButton = By.xpath("(" + CUSTOMER_ROWS_XPATH + ")[" + (customerRow.get().index() + 1) + "]//button[@ng-click = 'deleteCust(cust)']");
+            wait.until(ExpectedConditions.elementToBeClickable(rowDeleteButton)).click();
+            waitForAngular();
 
             // SİLME İŞLEMİNDEN SONRA ÖNEMLİ BEKLEME: Müşterinin tablodan kaybolmasını bekle
-            // Bu, tablonun yeniden render edildiği veya verinin kaybolduğu durumlarda kritiktir.
-            // Bu beklemeyi eklemek, stale element reference hatalarını veya yanlış okumaları önler.
+            // Each poll is a single table snapshot, so there are no stale element references to chase.
             try {
                 // Müşterinin artık tabloda olmamasını bekle (negatif beklenti)
-                wait.until(ExpectedConditions.not(ExpectedConditions.textToBePresentInElementLocated(customerTable, firstName + " " + lastName)));
-                System.out.println("Customer '" + firstName + " " + lastName + "' successfully disappeared from table.");
+                wait.until(d -> TableSnapshot.capture(d, CUSTOMER_ROWS_XPATH).findByColumns(firstName, lastName).isEmpty());
+                log.info("Customer '" + firstName + " " + lastName + "' successfully disappeared from table.");
                 return true;
             } catch (Exception e) {
-                System.err.println("Customer '" + firstName + " " + lastName + "' did not disappear from table after deletion attempt: " + e.getMessage());
+                log.error("Customer '" + firstName + " " + lastName + "' did not disappear from table after deletion attempt: " + e.getMessage());
                 return false;
             }
         }
-        System.out.println("Customer row not found for deletion: " + firstName + " " + lastName);
+        log.warn("Customer row not found for deletion: " + firstName + " " + lastName);
         return false; // Müşteri bulunamadı
     }
 
+    /**
+     * Re-installs the alert hook before an action that raises an alert, since a page load
+     * (e.g. logging in again) removes it. Installing is a no-op while the hook is present.
+     */
+    private void armAlertHook() {
+        if (alertMode == AlertInterceptor.Mode.INTERCEPT) {
+            AlertInterceptor.install(driver);
+        }
+    }
 
+    /**
+     * Waits for the Angular app to finish the work triggered by the last action.
+     */
+    private void waitForAngular() {
+        AngularWait.waitForAngular(driver, wait);
+    }
 }
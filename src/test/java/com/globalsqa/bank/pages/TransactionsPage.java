@@ -1,5 +1,11 @@
 package com.globalsqa.bank.pages;
 
+import com.globalsqa.bank.utils.AngularWait;
+import com.globalsqa.bank.utils.PagePerformance;
+import com.globalsqa.bank.utils.TableSnapshot;
+import com.globalsqa.bank.utils.WaitPolicy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -10,13 +16,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class TransactionsPage {
+    private static final Logger log = LogManager.getLogger(TransactionsPage.class);
     private WebDriver driver;
     private WebDriverWait wait;
     // --- Locators for elements on the Transactions Page ---
     private By transactionTable = By.xpath("//table[@class='table table-bordered table-striped']");
-    private By transactionTableRows = By.xpath("//table[@class='table table-bordered table-striped']/tbody/tr");
+    private static final String TRANSACTION_ROWS_XPATH = "//table[@class='table table-bordered table-striped']/tbody/tr";
+    private By transactionTableRows = By.xpath(TRANSACTION_ROWS_XPATH);
     private By backBtn = By.xpath("//button[@ng-click='back()']");
     private By resetBtn = By.xpath("//button[@ng-click='reset()']");
 
@@ -26,7 +35,9 @@ public class TransactionsPage {
     public TransactionsPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        AngularWait.waitForAngular(driver, wait); // Transactions are loaded asynchronously after the view switch
         wait.until(ExpectedConditions.visibilityOfElementLocated(transactionTable));
+        PagePerformance.capture(driver, "transactions.page");
     }
 
     // --- Verification Methods ---
@@ -48,29 +59,21 @@ public class TransactionsPage {
      * @return true if the transaction is found, false otherwise.
      */
     public boolean isTransactionPresent(String amount, String type) {
-        List<WebElement> rows = getTransactionRows();
-        for (WebElement row : rows) {
-            List<WebElement> cells = row.findElements(By.tagName("td"));
-            if (cells.size() >= 3) {
-                String actualAmount = cells.get(1).getText();
-                String actualType = cells.get(2).getText();
-                if (actualAmount.equals(amount) && actualType.equals(type)) {
-                    System.out.println("Found transaction - Amount: " + actualAmount + ", Type: " + actualType);
-                    return true;
-                }
-                /**
-                 * Fills out the Add Customer form.
-                 * @param firstName Customer's first name.
-                 * @param lastName Customer's last name.
-                 * @param postCode Customer's post code.
-                 */
-
-
-            }
-        }
-
-        return false;
+        TableSnapshot table = getTransactionTable();
+        Optional<TableSnapshot.Row> match = table.find(row -> row.matches(1, amount, type));
+        match.ifPresent(row -> log.info("Found transaction - Amount: " + row.cell(1) + ", Type: " + row.cell(2)));
+        return match.isPresent();
+    }
 
+    /**
+     * Reads the whole transaction table in one round trip, waiting until it has at least one row.
+     * @return Snapshot of the Date-Time, Amount and Transaction Type columns.
+     */
+    public TableSnapshot getTransactionTable() {
+        return wait.until(d -> {
+            TableSnapshot table = TableSnapshot.capture(d, TRANSACTION_ROWS_XPATH);
+            return table.isEmpty() ? null : table;
+        });
     }
 
     // --- Action Methods ---
@@ -82,18 +85,18 @@ public class TransactionsPage {
      */
     public List<Map<String, String>> getAllTransactions(int expectedTransactionCount) {
         // Wait until the expected number of transaction rows are present in the table.
-        // This is a more robust way to ensure data has loaded.
-        wait.until(ExpectedConditions.numberOfElementsToBe(transactionTableRows, expectedTransactionCount));
+        // Each poll reads the whole table in one script call, so the last poll already holds the data.
+        TableSnapshot table = wait.until(d -> {
+            TableSnapshot snapshot = TableSnapshot.capture(d, TRANSACTION_ROWS_XPATH);
+            return snapshot.size() == expectedTransactionCount ? snapshot : null;
+        });
 
         List<Map<String, String>> transactions = new ArrayList<>();
-        List<WebElement> rows = driver.findElements(transactionTableRows); // Use driver.findElements after explicit wait
-
-        for (WebElement row : rows) {
-            List<WebElement> cells = row.findElements(By.tagName("td"));
-            if (cells.size() >= 3) {
+        for (TableSnapshot.Row row : table.rows()) {
+            if (row.size() >= 3) {
                 Map<String, String> transaction = new HashMap<>();
-                transaction.put("Amount", cells.get(1).getText());
-                transaction.put("Type", cells.get(2).getText());
+                transaction.put("Amount", row.cell(1));
+                transaction.put("Type", row.cell(2));
                 transactions.add(transaction);
             }
         }
@@ -108,6 +111,7 @@ public class TransactionsPage {
      */
     public CustomerAccountPage clickBackButton() {
         wait.until(ExpectedConditions.elementToBeClickable(backBtn)).click();
+        waitForAngular();
         // After clicking back, expect to return to the account summary page
         // The calling test method will then receive a new CustomerAccountPage object
         return new CustomerAccountPage(driver, wait);
@@ -118,17 +122,23 @@ public class TransactionsPage {
      */
     public void clickResetButton() {
         wait.until(ExpectedConditions.elementToBeClickable(resetBtn)).click();
+        waitForAngular();
         // After clicking reset, wait for the transaction table rows to disappear.
         // This is a more explicit wait for the condition we expect.
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(transactionTableRows)); // Wait for any row to disappear
+            wait.until(WaitPolicy.absenceOf(transactionTableRows)); // Returns as soon as the last row is gone
         } catch (Exception e) {
             // This catch block is mostly for debugging. If it still fails, the locator might be wrong
             // or the UI doesn't completely remove the elements, just makes them empty.
             // For now, we expect them to be invisible.
-            System.err.println("Warning: Transaction rows did not become invisible after reset. This might indicate an issue or a different UI behavior.");
+            log.warn("Transaction rows did not become invisible after reset. This might indicate an issue or a different UI behavior.");
         }
     }
 
-
+    /**
+     * Waits for the Angular app to finish the work triggered by the last action.
+     */
+    private void waitForAngular() {
+        AngularWait.waitForAngular(driver, wait);
+    }
 }
@@ -1,7 +1,9 @@
 package com.globalsqa.bank.tests;
+import com.globalsqa.bank.pages.CustomerAccountPage;
 import com.globalsqa.bank.pages.TransactionsPage;
 import com.globalsqa.bank.utils.BaseCustomerTest;
 import com.globalsqa.bank.utils.RetryAnalyzer;
+import com.globalsqa.bank.utils.TransactionResult;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -11,8 +13,7 @@ import java.util.Map;
 public class CustomerLoginTests extends BaseCustomerTest {
     // No need for BASE_URL here, it's in BaseCustomerTest
     // private final String BASE_URL = "https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login";
-    // No need for Faker here, it's in BaseCustomerTest
-    // private Faker faker = new Faker();
+    // Test customers come from CustomerSource via BaseCustomerTest
 
 
     /**
@@ -21,9 +22,10 @@ public class CustomerLoginTests extends BaseCustomerTest {
      */
     @Test(priority = 1)
     public void testCustomerLogin() {
+        CustomerAccountPage customerAccountPage = getCustomerAccountPage();
         // Customer is already logged in via BaseCustomerTest.setup()
         // And customerAccountPage is initialized.
-        Assert.assertTrue(driver.getCurrentUrl().contains("/account"), "Customer should be redirected to account page.");
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("/account"), "Customer should be redirected to account page.");
         Assert.assertTrue(customerAccountPage.getCurrentBalance() >= 0, "Initial balance should be displayed.");
         // We can add a logout here if each customer test needs to explicitly logout
         // Or simply let tearDown close the browser.
@@ -35,8 +37,10 @@ public class CustomerLoginTests extends BaseCustomerTest {
      */
     @Test(priority = 2)
     public void testCustomerDeposit() {
+        CustomerAccountPage customerAccountPage = getCustomerAccountPage();
+        String customerFullName = getCustomer().getFullName();
         // Customer is already logged in and customerAccountPage is initialized by BaseCustomerTest.setup().
-        // The specific customer details for this test are available via customerFirstName, customerLastName, etc.
+        // The specific customer details for this test are available via getCustomer().
         log.info("Starting test: testCustomerDeposit for customer " + customerFullName); // Log start of test
         int initialBalance = customerAccountPage.getCurrentBalance();
         int depositAmount = 100;
@@ -60,28 +64,24 @@ public class CustomerLoginTests extends BaseCustomerTest {
     }
 
     @Test(priority = 3)
-    public void testSuccessWithdrawal() throws InterruptedException {
+    public void testSuccessWithdrawal() {
+        CustomerAccountPage customerAccountPage = getCustomerAccountPage();
+        String customerFullName = getCustomer().getFullName();
         // --- Step 1: Deposit an initial amount to ensure sufficient balance for withdrawal ---
         log.info("Starting test: testCustomerDeposit for customer " + customerFullName); // Log start of test
         int initialDepositAmount = 200;
-        customerAccountPage.clickDepositTab();
-        log.debug("Clicked Deposit tab."); // Use debug for more detailed steps
-        customerAccountPage.enterDepositAmount(String.valueOf(initialDepositAmount));
-        log.info("Entered deposit amount: " + initialDepositAmount);
-        customerAccountPage.clickSubmitButton();
-        log.info("Clicked Deposit submit button.");
-        String depositStatusMessage = customerAccountPage.getTransactionStatusMessage();
-        log.info("Deposit status message received: " + depositStatusMessage);
-        Assert.assertNotNull(depositStatusMessage, "Deposit status message should be displayed.");
-        Assert.assertTrue(depositStatusMessage.contains("Deposit Successful"), "Initial deposit should be successful.");
+        // Setup only, so the run's default execution mode (scripted fast path unless -Dexecution.mode=ui) is fine
+        TransactionResult deposit = customerAccountPage.depositFunds(String.valueOf(initialDepositAmount));
+        log.info("Deposit status message received: " + deposit.getMessage());
+        Assert.assertNotNull(deposit.getMessage(), "Deposit status message should be displayed.");
+        Assert.assertTrue(deposit.getMessage().contains("Deposit Successful"), "Initial deposit should be successful.");
 
         // --- Step 2: Perform the withdrawal ---
-        int balanceAfterDeposit = customerAccountPage.getCurrentBalance();
+        int balanceAfterDeposit = deposit.getBalance();
         int withdrawalAmount = 50; // Ensure this is less than or equal to balanceAfterDeposit
 
         customerAccountPage.clickWithdrawalTab();
         log.debug("Clicked Withdrawl tab."); // Use debug for more detailed steps
-        Thread.sleep(100);
         customerAccountPage.enterWithdrawalAmount(String.valueOf(withdrawalAmount));
         log.info("Entered withdrawl amount: " + withdrawalAmount);
         customerAccountPage.clickSubmitButton();
@@ -106,38 +106,24 @@ public class CustomerLoginTests extends BaseCustomerTest {
      * to verify the details.
      */
     @Test(priority = 4)
-    public void testTransactionsHistory() throws InterruptedException {
+    public void testTransactionsHistory() {
+        CustomerAccountPage customerAccountPage = getCustomerAccountPage();
+        String customerFullName = getCustomer().getFullName();
         // --- Step 1: Perform a Deposit ---
         log.info("Starting test: testCustomerDeposit for customer " + customerFullName); // Log start of test
         int depositAmount = 150;
-        customerAccountPage.clickDepositTab();
-        log.debug("Clicked Deposit tab."); // Use debug for more detailed steps
-        customerAccountPage.enterDepositAmount(String.valueOf(depositAmount));
-        log.info("Entered deposit amount: " + depositAmount);
-        customerAccountPage.clickSubmitButton();
-        log.info("Clicked Deposit submit button.");
-        String depositStatusMessage = customerAccountPage.getTransactionStatusMessage();
-        log.info("Deposit status message received: " + depositStatusMessage);
-        Assert.assertTrue(depositStatusMessage.contains("Deposit Successful"), "Deposit should be successful.");
+        TransactionResult deposit = customerAccountPage.depositFunds(String.valueOf(depositAmount));
+        log.info("Deposit status message received: " + deposit.getMessage());
+        Assert.assertTrue(deposit.getMessage().contains("Deposit Successful"), "Deposit should be successful.");
 
         // --- Step 2: Perform a Withdrawal ---
         int withdrawalAmount = 50;
-        customerAccountPage.clickWithdrawalTab();
-        log.debug("Clicked Withdrawl tab."); // Use debug for more detailed steps
-        Thread.sleep(100);
-        customerAccountPage.enterWithdrawalAmount(String.valueOf(withdrawalAmount));
-        log.info("Entered withdrawl amount: " + withdrawalAmount);
-        customerAccountPage.clickSubmitButton();
-        log.info("Clicked Withdrawl submit button.");
-        Thread.sleep(3000);
-        String withdrawalStatusMessage = customerAccountPage.getTransactionStatusMessage();
-        log.info("Withdrawl status message received: " + withdrawalStatusMessage);
-        Assert.assertTrue(withdrawalStatusMessage.contains("Transaction successful"), "Withdrawal should be successful.");
-        Thread.sleep(3000);
+        TransactionResult withdrawal = customerAccountPage.withdrawFunds(String.valueOf(withdrawalAmount));
+        log.info("Withdrawl status message received: " + withdrawal.getMessage());
+        Assert.assertTrue(withdrawal.getMessage().contains("Transaction successful"), "Withdrawal should be successful.");
         // --- Step 3: Navigate to Transactions and Verify ---
         TransactionsPage transactionPage = customerAccountPage.clickTransactionsTab();
         log.debug("Clicked Transaction tab."); // Use debug for more detailed steps
-        Thread.sleep(2000);
         // IMPORTANT: Now we wait for 2 transactions to be present before reading
         List<Map<String, String>> transactions = transactionPage.getAllTransactions(2);
 
@@ -164,33 +150,17 @@ public class CustomerLoginTests extends BaseCustomerTest {
      * This test performs some transactions and then resets the history.
      */
     @Test(priority = 5)
-    public void testResetTransactionsHistory() throws InterruptedException {
+    public void testResetTransactionsHistory() {
+        CustomerAccountPage customerAccountPage = getCustomerAccountPage();
+        String customerFullName = getCustomer().getFullName();
 
         // --- Step 1: Perform some transactions to populate history ---
         log.info("Starting test: testCustomerDeposit for customer " + customerFullName); // Log start of test
-        customerAccountPage.clickDepositTab();
-        log.debug("Clicked Deposit tab."); // Use debug for more detailed steps
-        customerAccountPage.enterDepositAmount("100");
-        log.info("Entered deposit amount: " + "100");
-        customerAccountPage.clickSubmitButton();
-        log.info("Clicked Deposit submit button.");
-        customerAccountPage.getTransactionStatusMessage();
-        log.info("Deposit status message received: " + customerAccountPage.getTransactionStatusMessage());
-
-        customerAccountPage.clickWithdrawalTab();
-        log.debug("Clicked Withdrawl tab."); // Use debug for more detailed steps
-        Thread.sleep(100);
-        customerAccountPage.enterWithdrawalAmount("20");
-        log.info("Entered withdrawl amount: " + "20");
-        customerAccountPage.clickSubmitButton();
-        log.info("Clicked Withdrawl submit button.");
-        customerAccountPage.getTransactionStatusMessage();
-        log.info("Withdrawl status message received: " + customerAccountPage.getTransactionStatusMessage());
-        Thread.sleep(5000);
+        log.info("Deposit status message received: " + customerAccountPage.depositFunds("100").getMessage());
+        log.info("Withdrawl status message received: " + customerAccountPage.withdrawFunds("20").getMessage());
         // --- Step 2: Navigate to Transactions and Reset History ---
         TransactionsPage transactionPage = customerAccountPage.clickTransactionsTab();
         log.debug("Clicked Transaction tab."); // Use debug for more detailed steps
-        Thread.sleep(7000);
         // Wait for transactions to appear before resetting
         List<Map<String, String>> transactionsBeforeReset = transactionPage.getAllTransactions(2);
         Assert.assertTrue(transactionsBeforeReset.size() > 0, "There should be transactions before reset.");
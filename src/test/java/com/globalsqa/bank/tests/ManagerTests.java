@@ -1,10 +1,13 @@
 package com.globalsqa.bank.tests;
 
 
-import com.github.javafaker.Faker;
 import com.globalsqa.bank.pages.LoginPage;
 import com.globalsqa.bank.pages.ManagerPage;
+import com.globalsqa.bank.utils.AlertInterceptor;
 import com.globalsqa.bank.utils.BaseTest;
+import com.globalsqa.bank.utils.Customer;
+import com.globalsqa.bank.utils.CustomerSource;
+import com.globalsqa.bank.utils.TableSnapshot;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
@@ -12,19 +15,16 @@ import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
 
 public class ManagerTests extends BaseTest {
-    protected LoginPage loginPage;
-    protected ManagerPage managerPage;
-    protected Faker faker = new Faker(); // Add Faker here if ManagerTests uses it
 
     @BeforeMethod
     @Override
-    @Parameters("browser")
-    public void setup(@Optional("chrome") String browser) {
-        super.setup(browser);
+    @Parameters({"browser", "profile"})
+    public void setup(@Optional("chrome") String browser, @Optional("standard") String profile) {
+        super.setup(browser, profile);
         // Initialize Page Objects for Manager tests
-loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTest's ThreadLocal
-        loginPage.loginAsManager(BASE_URL);
-        managerPage = new ManagerPage(driver, wait);
+        LoginPage loginPage = new LoginPage(getDriver(), getWait()); // Per-thread driver and wait from BaseTest
+        context().setLoginPage(loginPage);
+        context().setManagerPage(loginPage.loginAsManager(BASE_URL));
 //
 
         // No need to call loginAsManager here in setup if each test starts from login.
@@ -43,13 +43,17 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
      */
     @Test(priority = 1)
     public void testAddCustomer() {
+        LoginPage loginPage = getLoginPage();
+        ManagerPage managerPage = getManagerPage();
         // Assume test starts from login page or homepage, and you need to login as manager for this test
         loginPage.loginAsManager(BASE_URL); // Ensure login happens within the test context
+        managerPage.setAlertMode(AlertInterceptor.Mode.NATIVE); // This test validates the dialog itself
         managerPage.clickAddCustomerTab();
 
-        String firstName = faker.name().firstName();
-        String lastName = faker.name().lastName();
-        String postCode = faker.address().zipCode();
+        Customer customer = CustomerSource.next(); // Unique name, safe with parallel tests; kept in recorded traces
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        String postCode = customer.getPostCode();
 
         managerPage.fillAddCustomerForm(firstName, lastName, postCode);
         managerPage.clickAddCustomerSubmitButton();
@@ -62,28 +66,19 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
 
     /**
      * Test Scenario: Verify that a new account can be opened for an existing customer.
-     * This test adds its own unique customer first to ensure independence.
+     * This test creates its own unique customer to ensure independence.
      */
     @Test(priority = 3)
     public void testOpenAccountForNewCustomer() {
-        // managerPage object is already initialized and logged in via BaseTest.setup()
-
-        // --- ADD CUSTOMER FOR THIS TEST ---
-        managerPage.clickAddCustomerTab();
-
-        String currentTestFirstName = faker.name().firstName();
-        String currentTestLastName = faker.name().lastName();
-        String currentTestPostCode = faker.address().zipCode();
-        String currentTestFullName = currentTestFirstName + " "+ currentTestLastName;
-
-        managerPage.fillAddCustomerForm(currentTestFirstName, currentTestLastName, currentTestPostCode);
-        managerPage.clickAddCustomerSubmitButton();
-        managerPage.getAlertTextAndAccept(); // Accept the "Customer added successfully" alert
+        // --- CUSTOMER WITHOUT AN ACCOUNT FOR THIS TEST ---
+        Customer customer = createCustomer(null);
+        ManagerPage managerPage = getManagerPage();
+        managerPage.setAlertMode(AlertInterceptor.Mode.NATIVE); // This test validates the dialog itself
 
         // --- PROCEED TO OPEN ACCOUNT ---
         managerPage.clickOpenAccountTab();
 
-        managerPage.selectCustomerForAccount(currentTestFullName);
+        managerPage.selectCustomerForAccount(customer.getFullName());
         managerPage.selectCurrencyForAccount("Dollar");
 
         managerPage.clickProcessButton();
@@ -97,34 +92,28 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
     }
     /**
      * Test Scenario: Verify that a newly added customer appears correctly in the customer list.
-     * This test adds its own unique customer to ensure independence.
+     * This test creates its own unique customer to ensure independence.
      */
 
     @Test(priority = 4)
     public void testVerifyCustomerInList() {
-        // managerPage object is already initialized and logged in via BaseTest.setup()
-
-        // --- ADD CUSTOMER FOR THIS TEST ---
-        managerPage.clickAddCustomerTab();
-
-        String customerToVerifyFirstName = faker.name().firstName();
-        String customerToVerifyLastName = faker.name().lastName();
-        String customerToVerifyPostCode = faker.address().zipCode();
-
-        managerPage.fillAddCustomerForm(customerToVerifyFirstName, customerToVerifyLastName, customerToVerifyPostCode);
-        managerPage.clickAddCustomerSubmitButton();
-        managerPage.getAlertTextAndAccept(); // Accept the "Customer added successfully" alert
+        // --- CUSTOMER FOR THIS TEST ---
+        Customer customer = createCustomer(null);
+        ManagerPage managerPage = getManagerPage();
+        String customerToVerifyFirstName = customer.getFirstName();
+        String customerToVerifyLastName = customer.getLastName();
+        String customerToVerifyPostCode = customer.getPostCode();
 
         // --- GO TO CUSTOMERS LIST AND VERIFY ---
         managerPage.clickCustomersTab();
 
-        managerPage.searchCustomer(customerToVerifyFirstName);
+        TableSnapshot searchResult = managerPage.searchCustomers(customerToVerifyFirstName);
 
-        boolean customerFound = managerPage.isCustomerPresentTable(
+        boolean customerFound = searchResult.findByColumns(
                 customerToVerifyFirstName,
                 customerToVerifyLastName,
                 customerToVerifyPostCode
-        );
+        ).isPresent();
 
         Assert.assertTrue(customerFound, "Newly added customer should be present in the customer list.");
 
@@ -132,35 +121,26 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
     }
     /**
      * Test Scenario: Verify that a customer can be successfully deleted from the list.
-     * This test adds its own unique customer first to ensure independence.
+     * This test creates its own unique customer to ensure independence.
      */
 
     @Test(priority = 5)
     public void testDeleteCustomer()  {
-        // managerPage object is already initialized and logged in via BaseTest.setup()
-
-        // --- ADD CUSTOMER FOR THIS TEST ---
-        managerPage.clickAddCustomerTab();
-
-        String customerToDeleteFirstName = faker.name().firstName();
-        String customerToDeleteLastName = faker.name().lastName();
-        String customerToDeletePostCode = faker.address().zipCode();
-        // String customerToDeleteFullName = customerToDeleteFirstName + " " + customerToDeleteLastName; // Not used directly in deletion method
-
-        managerPage.fillAddCustomerForm(customerToDeleteFirstName, customerToDeleteLastName, customerToDeletePostCode);
-        managerPage.clickAddCustomerSubmitButton();
-        managerPage.getAlertTextAndAccept(); // Accept the "Customer added successfully" alert
+        // --- CUSTOMER FOR THIS TEST ---
+        Customer customer = createCustomer(null);
+        ManagerPage managerPage = getManagerPage();
+        String customerToDeleteFirstName = customer.getFirstName();
+        String customerToDeleteLastName = customer.getLastName();
+        String customerToDeletePostCode = customer.getPostCode();
 
         // --- GO TO CUSTOMERS LIST, DELETE AND VERIFY DISAPPEARANCE ---
         managerPage.clickCustomersTab();
 
-        managerPage.searchCustomer(customerToDeleteFirstName);
-
-        boolean customerFoundBeforeDelete = managerPage.isCustomerPresentTable(
+        boolean customerFoundBeforeDelete = managerPage.searchCustomers(customerToDeleteFirstName).findByColumns(
                 customerToDeleteFirstName,
                 customerToDeleteLastName,
                 customerToDeletePostCode
-        );
+        ).isPresent();
         Assert.assertTrue(customerFoundBeforeDelete, "Customer to be deleted should be present in the list before deletion.");
 
         boolean deletedAndVerified = managerPage.deleteCustomerAndVerifyDisappearance(
@@ -171,13 +151,11 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
         Assert.assertTrue(deletedAndVerified, "Customer should be successfully deleted and disappear from the table.");
 
         // Clear search to re-check the full list (important for robust verification)
-        managerPage.searchCustomer("");
-
-        boolean customerFoundAfterDelete = managerPage.isCustomerPresentTable(
+        boolean customerFoundAfterDelete = managerPage.searchCustomers("").findByColumns(
                 customerToDeleteFirstName,
                 customerToDeleteLastName,
                 customerToDeletePostCode
-        );
+        ).isPresent();
         Assert.assertFalse(customerFoundAfterDelete, "Customer should NOT be present in the list after deletion (after clearing search).");
 
         managerPage.clickHomeButton();
@@ -187,20 +165,22 @@ loginPage = new LoginPage(driver, wait); // Use 'driver' and 'wait' from BaseTes
 
     @Test(priority = 6)
     public void testAddCustomerWithMissingLastName() {
+        ManagerPage managerPage = getManagerPage();
         // managerPage object is already initialized and logged in via BaseTest.setup()
 
         managerPage.clickAddCustomerTab();
 
-        String firstName = faker.name().firstName();
+        Customer customer = CustomerSource.next();
+        String firstName = customer.getFirstName();
         String lastName = null;
-        String postCode = faker.address().zipCode();
+        String postCode = customer.getPostCode();
 
         managerPage.fillAddCustomerForm(firstName, lastName, postCode);
         managerPage.clickAddCustomerSubmitButton();
 
         String validationMessage = managerPage.getFieldValidationMessage(managerPage.lastNameInput);
 
-        System.out.println("Validation message for Last Name:" + validationMessage);
+        log.info("Validation message for Last Name:" + validationMessage);
 
         Assert.assertNotNull(validationMessage, "Validation message should be displayed for missing Last Name.");
         Assert.assertTrue(validationMessage.contains("fill out this field") || validationMessage.contains("doldurun"),
@@ -0,0 +1,95 @@
+package com.globalsqa.bank.tests;
+
+import com.globalsqa.bank.pages.CustomerAccountPage;
+import com.globalsqa.bank.utils.BankAction;
+import com.globalsqa.bank.utils.BankModelRunner;
+import com.globalsqa.bank.utils.BaseCustomerTest;
+import com.globalsqa.bank.utils.Customer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Model-based runs of the customer screens: long random sequences of deposits, withdrawals,
+ * transaction views, resets and back navigation, each step checked against a ledger model
+ * (see {@link BankModelRunner}). Every run uses its own customer and session, so the runs of
+ * the data provider execute in parallel.
+ *
+ * -Dmbt.runs: number of sequences (default 4).
+ * -Dmbt.steps: actions per sequence (default 200).
+ * -Dmbt.maxAmount: largest random whole amount (default 10000); cents, half cents and amounts
+ * beyond JavaScript's exact integers are mixed in on top.
+ * -Dmbt.seed: base seed (random by default, logged); run i uses base + i, so
+ * -Dmbt.seed=<seed of a failing run> -Dmbt.runs=1 replays it.
+ * -Dmbt.shrinkReplays: replays allowed for shrinking a failing sequence (default 50).
+ *
+ * Not part of testng.xml and its throughput budget; run it with testng-model.xml.
+ */
+public class ModelBasedBankingTests extends BaseCustomerTest {
+
+    private static final int RUNS = Integer.getInteger("mbt.runs", 4);
+    private static final int STEPS = Integer.getInteger("mbt.steps", 200);
+    private static final long MAX_AMOUNT = Long.getLong("mbt.maxAmount", 10_000);
+    private static final long BASE_SEED = Long.getLong("mbt.seed", new Random().nextLong());
+    private static final int SHRINK_REPLAYS = Integer.getInteger("mbt.shrinkReplays", 50);
+
+    private static final AtomicLong totalSteps = new AtomicLong();
+    private static final AtomicLong totalNanos = new AtomicLong();
+
+    @DataProvider(name = "seeds", parallel = true)
+    public Object[][] seeds() {
+        log.info("Model-based runs: " + RUNS + " x " + STEPS + " steps, base seed " + BASE_SEED);
+        Object[][] seeds = new Object[RUNS][];
+        for (int i = 0; i < RUNS; i++) {
+            seeds[i] = new Object[]{BASE_SEED + i};
+        }
+        return seeds;
+    }
+
+    @Test(dataProvider = "seeds")
+    public void testRandomAccountActivity(long seed) {
+        List<BankAction> actions = BankAction.generate(seed, STEPS, MAX_AMOUNT);
+        BankModelRunner runner = new BankModelRunner(this::openFreshAccount);
+
+        long start = System.nanoTime();
+        BankModelRunner.Outcome outcome = runner.execute(getCustomerAccountPage(), actions);
+        long elapsed = System.nanoTime() - start;
+        totalSteps.addAndGet(outcome.getStepsExecuted());
+        totalNanos.addAndGet(elapsed);
+        log.info(String.format("Seed %d: %d steps in %.1f s (%.0f steps/minute)", seed, outcome.getStepsExecuted(),
+                elapsed / 1e9, outcome.getStepsExecuted() * 60e9 / elapsed));
+
+        if (outcome.isFailed()) {
+            log.error("Seed " + seed + " diverged from the model at " + outcome.getFailure());
+            BankModelRunner.Outcome shrunk = runner.shrink(outcome, SHRINK_REPLAYS);
+            Assert.fail("Seed " + seed + " diverged from the model at " + outcome.getFailure()
+                    + "\nShortest failing sequence (" + shrunk.getActions().size() + " of " + outcome.getStepsExecuted() + " steps): "
+                    + shrunk.getActions().stream().map(BankAction::toString).collect(Collectors.joining(", "))
+                    + "\nwhich fails at " + shrunk.getFailure());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void logThroughput() {
+        long nanos = totalNanos.get();
+        if (nanos > 0) {
+            // Sum of per-run times, so this is the rate of one session; parallel sessions multiply it
+            log.info(String.format("Model-based runs: %d steps at %.0f steps/minute per session",
+                    totalSteps.get(), totalSteps.get() * 60e9 / nanos));
+        }
+    }
+
+    /**
+     * A new customer with an empty Dollar account, logged in, for replaying candidates while shrinking.
+     */
+    private CustomerAccountPage openFreshAccount() {
+        Customer customer = createCustomer("Dollar");
+        return getLoginPage().loginAsCustomer(BASE_URL, customer.getFullName());
+    }
+}
@@ -0,0 +1,90 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.List;
+
+/**
+ * Replaces window.alert with a page-side hook that queues the messages instead of opening a
+ * native dialog. Reading a message back is one script call, with no alert round trips, and an
+ * unexpected alert can never block the session.
+ *
+ * The hook lives in the page, so a full page load removes it; in-app (hash) navigation keeps it.
+ *
+ * The default mode of new page objects is chosen with the {@code alert.mode} system property:
+ * "native" (default) or "intercept". Tests that validate the dialog itself stay on NATIVE.
+ */
+public final class AlertInterceptor {
+
+    public enum Mode { NATIVE, INTERCEPT }
+
+    private static final String INSTALL_SCRIPT =
+            "if (!window.__alertQueue) {" +
+            "  window.__alertQueue = [];" +
+            "  window.__nativeAlert = window.alert;" +
+            "  window.alert = function(text) { window.__alertQueue.push(String(text)); };" +
+            "}";
+
+    private static final String UNINSTALL_SCRIPT =
+            "if (window.__alertQueue) {" +
+            "  window.alert = window.__nativeAlert;" +
+            "  delete window.__alertQueue;" +
+            "  delete window.__nativeAlert;" +
+            "}";
+
+    // undefined (null in Java) when the hook is gone, e.g. after a page load
+    private static final String NEXT_SCRIPT =
+            "return window.__alertQueue ? (window.__alertQueue.length ? window.__alertQueue.shift() : '') : undefined;";
+
+    private static final String DRAIN_SCRIPT =
+            "return window.__alertQueue ? window.__alertQueue.splice(0) : [];";
+
+    private AlertInterceptor() {
+    }
+
+    /**
+     * @return The alert mode selected for this run.
+     */
+    public static Mode mode() {
+        return Mode.valueOf(System.getProperty("alert.mode", "native").trim().toUpperCase());
+    }
+
+    /**
+     * Installs the hook in the current page. Installing twice keeps the existing queue.
+     */
+    public static void install(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT);
+    }
+
+    /**
+     * Restores the native window.alert and drops any queued messages.
+     */
+    public static void uninstall(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(UNINSTALL_SCRIPT);
+    }
+
+    /**
+     * Waits for the next queued alert message and removes it from the queue.
+     * @return The alert text.
+     * @throws IllegalStateException If the hook is no longer installed in the page.
+     */
+    public static String next(WebDriver driver, WebDriverWait wait) {
+        return wait.until(d -> {
+            Object text = ((JavascriptExecutor) d).executeScript(NEXT_SCRIPT);
+            if (text == null) {
+                throw new IllegalStateException("Alert hook is not installed in the current page");
+            }
+            return ((String) text).isEmpty() ? null : (String) text;
+        });
+    }
+
+    /**
+     * Removes and returns every queued alert message without waiting.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> drain(WebDriver driver) {
+        return (List<String>) ((JavascriptExecutor) driver).executeScript(DRAIN_SCRIPT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Waits for the AngularJS banking app to become stable: no digest in progress and
+ * no outstanding $http or $timeout work. Uses the same testability hook Protractor uses
+ * ({@code angular.getTestability(root).whenStable}), so it returns as soon as the app
+ * settles instead of after a fixed sleep.
+ */
+public final class AngularWait {
+
+    private static final String WHEN_STABLE_SCRIPT =
+            "var callback = arguments[arguments.length - 1];" +
+            "if (document.readyState !== 'complete' || !window.angular) { callback(false); return; }" +
+            "var root = document.querySelector('[ng-app]') || document.body;" +
+            "try {" +
+            "  if (angular.getTestability) {" +
+            "    angular.getTestability(root).whenStable(function() { callback(true); });" +
+            "  } else {" +
+            "    angular.element(root).injector().get('$browser').notifyWhenNoOutstandingRequests(function() { callback(true); });" +
+            "  }" +
+            "} catch (e) {" +
+            "  callback(false);" + // Angular not bootstrapped yet, poll again
+            "}";
+
+    private AngularWait() {
+    }
+
+    /**
+     * Blocks until the page is loaded and Angular reports no pending work.
+     * Must not be called while a native alert is open.
+     * @param driver The WebDriver instance.
+     * @param wait The wait bounding how long to poll for a bootstrapped app.
+     */
+    public static void waitForAngular(WebDriver driver, WebDriverWait wait) {
+        wait.until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeAsyncScript(WHEN_STABLE_SCRIPT)));
+    }
+}
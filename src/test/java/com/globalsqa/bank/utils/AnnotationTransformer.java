@@ -9,6 +9,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
 public class AnnotationTransformer implements IAnnotationTransformer {
+    /**
+     * Attaches the retry analyzer to every test; the analyzer itself decides whether a failure is worth retrying.
+     */
     @Override
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod){
         annotation.setRetryAnalyzer(RetryAnalyzer.class);
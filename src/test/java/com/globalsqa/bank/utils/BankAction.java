@@ -0,0 +1,180 @@
+package com.globalsqa.bank.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One step of a model-based banking run, and the seeded generator of step sequences.
+ */
+public final class BankAction {
+
+    public enum Kind {
+        DEPOSIT(LedgerModel.View.ACCOUNT),
+        WITHDRAW(LedgerModel.View.ACCOUNT),
+        TRANSACTIONS(LedgerModel.View.ACCOUNT),
+        RESET(LedgerModel.View.TRANSACTIONS),
+        BACK(LedgerModel.View.TRANSACTIONS);
+
+        private final LedgerModel.View view;
+
+        Kind(LedgerModel.View view) {
+            this.view = view;
+        }
+
+        /**
+         * @return The view this action is available on.
+         */
+        public LedgerModel.View getView() {
+            return view;
+        }
+    }
+
+    // Amounts the app's JavaScript arithmetic and the form's validation are likely to get wrong
+    private static final BigDecimal[] EDGE_AMOUNTS = {
+            new BigDecimal("0.01"),
+            new BigDecimal("0.1"),
+            new BigDecimal("0.005"),
+            new BigDecimal("9007199254740993"), // 2^53 + 1, the first integer a JavaScript number cannot hold
+            new BigDecimal("10000000000000001"),
+            new BigDecimal("1000000000000000000000") // Shown by JavaScript as 1e+21
+    };
+
+    private final Kind kind;
+    private final BigDecimal amount;
+
+    private BankAction(Kind kind, BigDecimal amount) {
+        this.kind = kind;
+        this.amount = amount;
+    }
+
+    public static BankAction deposit(BigDecimal amount) {
+        return new BankAction(Kind.DEPOSIT, amount);
+    }
+
+    public static BankAction withdraw(BigDecimal amount) {
+        return new BankAction(Kind.WITHDRAW, amount);
+    }
+
+    public static BankAction of(Kind kind) {
+        return new BankAction(kind, BigDecimal.ZERO);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The amount of a deposit or withdrawal, 0 for the other actions.
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Generates a sequence that is valid from the account view: every action is available
+     * on the view the previous ones lead to. Withdrawals are biased towards the interesting
+     * amounts, the exact balance and one more than it, next to random ones. Amounts are mostly
+     * whole numbers, with cents, half cents and values beyond JavaScript's exact integers mixed in.
+     * @param seed Same seed, same sequence.
+     * @param steps Number of actions.
+     * @param maxAmount Largest random whole deposit or withdrawal amount.
+     * @return The actions in order.
+     */
+    public static List<BankAction> generate(long seed, int steps, long maxAmount) {
+        Random random = new Random(seed);
+        LedgerModel model = new LedgerModel();
+        List<BankAction> actions = new ArrayList<>(steps);
+        while (actions.size() < steps) {
+            BankAction action = model.getView() == LedgerModel.View.ACCOUNT
+                    ? nextOnAccount(random, model, maxAmount) : nextOnTransactions(random);
+            action.applyTo(model);
+            actions.add(action);
+        }
+        return actions;
+    }
+
+    /**
+     * Drops the actions that are not available on the view the preceding ones lead to,
+     * e.g. after a shrinking step removed the TRANSACTIONS before a RESET.
+     * @return A sequence that can be executed from the account view.
+     */
+    public static List<BankAction> normalize(List<BankAction> actions) {
+        LedgerModel model = new LedgerModel();
+        List<BankAction> valid = new ArrayList<>(actions.size());
+        for (BankAction action : actions) {
+            if (action.kind.getView() == model.getView()) {
+                action.applyTo(model);
+                valid.add(action);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Applies the action to the model.
+     * @return What the app should do with a deposit or withdrawal; APPLIED for the other actions.
+     */
+    public LedgerModel.Result applyTo(LedgerModel model) {
+        switch (kind) {
+            case DEPOSIT:
+                return model.deposit(amount);
+            case WITHDRAW:
+                return model.withdraw(amount);
+            case TRANSACTIONS:
+                model.openTransactions();
+                return LedgerModel.Result.APPLIED;
+            case RESET:
+                model.reset();
+                return LedgerModel.Result.APPLIED;
+            default:
+                model.back();
+                return LedgerModel.Result.APPLIED;
+        }
+    }
+
+    private static BankAction nextOnAccount(Random random, LedgerModel model, long maxAmount) {
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return deposit(random.nextInt(10) == 0 ? BigDecimal.ONE : randomAmount(random, maxAmount));
+        }
+        if (roll < 80) {
+            BigDecimal balance = model.getBalance();
+            int pick = random.nextInt(4);
+            if (pick == 0 && balance.signum() > 0) {
+                return withdraw(balance); // Exactly everything: allowed
+            }
+            if (pick == 1) {
+                return withdraw(balance.add(BigDecimal.ONE)); // One too many: refused
+            }
+            return withdraw(randomAmount(random, maxAmount));
+        }
+        return of(Kind.TRANSACTIONS);
+    }
+
+    private static BankAction nextOnTransactions(Random random) {
+        return of(random.nextInt(100) < 30 ? Kind.RESET : Kind.BACK);
+    }
+
+    private static BigDecimal randomAmount(Random random, long maxAmount) {
+        BigDecimal whole = BigDecimal.valueOf(1 + (long) (random.nextDouble() * maxAmount));
+        int pick = random.nextInt(10);
+        if (pick == 0) {
+            return EDGE_AMOUNTS[random.nextInt(EDGE_AMOUNTS.length)];
+        }
+        if (pick == 1) {
+            return whole.add(new BigDecimal("0.005")); // Half a cent: rounds either way
+        }
+        if (pick == 2) {
+            return whole.add(BigDecimal.valueOf(random.nextInt(100), 2)); // Cents
+        }
+        return whole;
+    }
+
+    @Override
+    public String toString() {
+        String name = kind.name().toLowerCase();
+        return kind == Kind.DEPOSIT || kind == Kind.WITHDRAW ? name + " " + amount.toPlainString() : name;
+    }
+}
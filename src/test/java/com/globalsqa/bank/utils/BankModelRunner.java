@@ -0,0 +1,261 @@
+package com.globalsqa.bank.utils;
+
+import com.globalsqa.bank.pages.CustomerAccountPage;
+import com.globalsqa.bank.pages.TransactionsPage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Executes {@link BankAction} sequences through {@link CustomerAccountPage} and {@link TransactionsPage}
+ * and compares the app with a {@link LedgerModel} after every step: status message and exact balance
+ * after deposits and withdrawals, balance after going back, the whole history (amounts, types, order)
+ * when the transactions view is opened or reset.
+ *
+ * A failing sequence is shrunk by replaying shorter versions of it on fresh accounts: chunks of
+ * halving size are removed as long as the rest still fails, so the report shows a short sequence
+ * instead of the hundreds of steps that led to it.
+ */
+public final class BankModelRunner {
+
+    private static final Logger log = LogManager.getLogger(BankModelRunner.class);
+
+    /**
+     * Result of executing one sequence.
+     */
+    public static final class Outcome {
+        private final List<BankAction> actions;
+        private final int stepsExecuted;
+        private final int failedStep; // -1 if every step matched the model
+        private final String failure;
+
+        private Outcome(List<BankAction> actions, int stepsExecuted, int failedStep, String failure) {
+            this.actions = actions;
+            this.stepsExecuted = stepsExecuted;
+            this.failedStep = failedStep;
+            this.failure = failure;
+        }
+
+        public boolean isFailed() {
+            return failedStep >= 0;
+        }
+
+        public int getStepsExecuted() {
+            return stepsExecuted;
+        }
+
+        /**
+         * @return Zero-based index of the first step that did not match the model, or -1.
+         */
+        public int getFailedStep() {
+            return failedStep;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return The executed sequence, up to and including the failed step.
+         */
+        public List<BankAction> getActions() {
+            return actions.subList(0, stepsExecuted);
+        }
+    }
+
+    /**
+     * A step's result did not match the model.
+     */
+    private static final class ModelMismatch extends RuntimeException {
+        private ModelMismatch(String message) {
+            super(message);
+        }
+    }
+
+    private final Supplier<CustomerAccountPage> freshAccount;
+
+    /**
+     * @param freshAccount Opens the account view of a new, empty account; used to replay candidates while shrinking.
+     */
+    public BankModelRunner(Supplier<CustomerAccountPage> freshAccount) {
+        this.freshAccount = freshAccount;
+    }
+
+    /**
+     * Executes the actions from the account view of an empty account, stopping at the first mismatch.
+     * @param account The account view to start on.
+     * @param actions A sequence valid from the account view (see {@link BankAction#normalize(List)}).
+     * @return The outcome.
+     */
+    public Outcome execute(CustomerAccountPage account, List<BankAction> actions) {
+        LedgerModel model = new LedgerModel();
+        TransactionsPage transactions = null;
+        for (int i = 0; i < actions.size(); i++) {
+            BankAction action = actions.get(i);
+            try {
+                switch (action.getKind()) {
+                    case DEPOSIT:
+                    case WITHDRAW:
+                        LedgerModel.Result expected = action.applyTo(model);
+                        checkTransaction(submit(account, action, expected), expectedMessage(action.getKind(), expected), model);
+                        break;
+                    case TRANSACTIONS:
+                        action.applyTo(model);
+                        transactions = account.clickTransactionsTab();
+                        checkHistory(transactions, model);
+                        break;
+                    case RESET:
+                        action.applyTo(model);
+                        transactions.clickResetButton();
+                        checkHistory(transactions, model);
+                        break;
+                    case BACK:
+                        action.applyTo(model);
+                        account = transactions.clickBackButton();
+                        transactions = null;
+                        String balance = account.getCurrentBalanceText();
+                        check(sameAmount(balance, model.getBalance()), "balance " + balance + ", model " + model.getBalance().toPlainString());
+                        break;
+                }
+            } catch (RuntimeException e) {
+                String reason = e instanceof ModelMismatch ? e.getMessage() : e.getClass().getSimpleName() + ": " + firstLine(e.getMessage());
+                return new Outcome(actions, i + 1, i, "step " + (i + 1) + " (" + action + "): " + reason);
+            }
+        }
+        return new Outcome(actions, actions.size(), -1, null);
+    }
+
+    /**
+     * Shrinks a failing sequence by replaying shorter candidates on fresh accounts.
+     * @param failure Outcome of the failing sequence.
+     * @param maxReplays Upper bound on replays.
+     * @return The outcome of the shortest failing sequence found.
+     */
+    public Outcome shrink(Outcome failure, int maxReplays) {
+        List<BankAction> current = new ArrayList<>(failure.getActions());
+        Outcome currentOutcome = failure;
+        int replays = 0;
+        int chunk = current.size() / 2;
+        while (chunk >= 1 && replays < maxReplays) {
+            boolean removed = false;
+            int start = 0;
+            while (start < current.size() && replays < maxReplays) {
+                List<BankAction> candidate = new ArrayList<>(current.subList(0, start));
+                candidate.addAll(current.subList(Math.min(current.size(), start + chunk), current.size()));
+                candidate = BankAction.normalize(candidate);
+                if (candidate.isEmpty() || candidate.size() >= current.size()) {
+                    start += chunk;
+                    continue;
+                }
+                replays++;
+                CustomerAccountPage account;
+                try {
+                    account = freshAccount.get();
+                } catch (RuntimeException e) {
+                    log.warn("Could not open a fresh account, shrinking stopped: " + firstLine(e.getMessage()));
+                    return currentOutcome;
+                }
+                Outcome outcome = execute(account, candidate);
+                if (outcome.isFailed()) {
+                    current = new ArrayList<>(outcome.getActions());
+                    currentOutcome = outcome;
+                    removed = true; // Try the same position again with what is left
+                } else {
+                    start += chunk;
+                }
+            }
+            chunk = removed ? Math.min(chunk, current.size() / 2) : chunk / 2;
+        }
+        log.info("Shrunk " + failure.getStepsExecuted() + " steps to " + current.size() + " in " + replays + " replays");
+        return currentOutcome;
+    }
+
+    /**
+     * Enters the amount and submits the form. When the form's validation is expected to block the
+     * submission no message will appear, so the page is read as it is instead of waiting for one.
+     */
+    private static TransactionResult submit(CustomerAccountPage account, BankAction action, LedgerModel.Result expected) {
+        String amount = action.getAmount().toPlainString();
+        boolean deposit = action.getKind() == BankAction.Kind.DEPOSIT;
+        if (expected != LedgerModel.Result.NOT_SUBMITTED) {
+            return deposit ? account.depositFunds(amount) : account.withdrawFunds(amount);
+        }
+        if (deposit) {
+            account.clickDepositTab();
+            account.enterDepositAmount(amount);
+        } else {
+            account.clickWithdrawalTab();
+            account.enterWithdrawalAmount(amount);
+        }
+        account.clickSubmitButton();
+        return account.readTransactionState();
+    }
+
+    /**
+     * @return The status message the app should show, or null for none.
+     */
+    private static String expectedMessage(BankAction.Kind kind, LedgerModel.Result expected) {
+        switch (expected) {
+            case APPLIED:
+                return kind == BankAction.Kind.DEPOSIT ? "Deposit Successful" : "Transaction successful";
+            case REFUSED:
+                return "Transaction Failed";
+            default:
+                return null;
+        }
+    }
+
+    private static void checkTransaction(TransactionResult result, String expectedMessage, LedgerModel model) {
+        String message = result.getMessage();
+        if (expectedMessage == null) {
+            check(message == null || message.isEmpty(), "message \"" + message + "\", expected none");
+        } else {
+            check(message != null && message.contains(expectedMessage), "message \"" + message + "\", expected \"" + expectedMessage + "\"");
+        }
+        check(sameAmount(result.getBalanceText(), model.getBalance()),
+                "balance " + result.getBalanceText() + ", model " + model.getBalance().toPlainString());
+    }
+
+    private static void checkHistory(TransactionsPage page, LedgerModel model) {
+        List<LedgerModel.Entry> expected = model.getHistory();
+        List<Map<String, String>> actual;
+        try {
+            actual = page.getAllTransactions(expected.size());
+        } catch (TimeoutException e) {
+            throw new ModelMismatch("history never had " + expected.size() + " rows, model " + expected);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            LedgerModel.Entry entry = expected.get(i);
+            Map<String, String> row = actual.get(i);
+            check(sameAmount(row.get("Amount"), entry.getAmount()) && entry.getType().equals(row.get("Type")),
+                    "history row " + (i + 1) + " is " + row.get("Amount") + " " + row.get("Type") + ", model " + entry);
+        }
+    }
+
+    /**
+     * @return true if the page's text is the exact amount; JavaScript prints large numbers as e.g. "1e+21".
+     */
+    private static boolean sameAmount(String text, BigDecimal expected) {
+        try {
+            return text != null && new BigDecimal(text.trim()).compareTo(expected) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void check(boolean condition, String mismatch) {
+        if (!condition) {
+            throw new ModelMismatch(mismatch);
+        }
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.split("\n", 2)[0];
+    }
+}
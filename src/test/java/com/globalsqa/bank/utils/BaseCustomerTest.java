@@ -1,73 +1,46 @@
 package com.globalsqa.bank.utils;
 
 import com.globalsqa.bank.pages.LoginPage;
-import com.globalsqa.bank.pages.ManagerPage; // Needed to add customer as prerequisite
 import com.globalsqa.bank.pages.CustomerAccountPage; // Needed for customer account page
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-import org.testng.annotations.AfterMethod;
+import org.openqa.selenium.WebDriver;
 import org.testng.annotations.BeforeMethod;
-
-import com.github.javafaker.Faker; // For generating test data
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
 
 public class BaseCustomerTest extends BaseTest {
-    protected LoginPage loginPage;
-    protected ManagerPage managerPage; // To create customer as prerequisite
-    protected CustomerAccountPage customerAccountPage; // For direct access in customer tests
-    protected Faker faker = new Faker(); // Faker instance for test data generation
-
-    protected Logger log = LogManager.getLogger(getClass());
-    protected final String BASE_URL = "https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login";
-
-    // Variables to hold customer details created in setup
-    protected String customerFirstName;
-    protected String customerLastName;
-    protected String customerPostCode;
-    protected String customerFullName;
 
     @BeforeMethod
     @Override
-    @Parameters("browser")
-    public void setup(@Optional("chrome") String browser) {
-        super.setup(browser);
+    @Parameters({"browser", "profile"})
+    public void setup(@Optional("chrome") String browser, @Optional("standard") String profile) {
+        super.setup(browser, profile);
+        WebDriver driver = getDriver();
+        TestContext context = context();
         // Initialize Page Objects for Customer tests
-        loginPage = new LoginPage(driver, wait);
-        loginPage.loginAsManager(BASE_URL);
-        managerPage = new ManagerPage(driver, wait);
-        managerPage.clickAddCustomerTab();
-
-        customerFirstName = faker.name().firstName();
-        customerLastName = faker.name().lastName();
-        customerPostCode = faker.address().zipCode();
-        customerFullName = customerFirstName + " " + customerLastName;
-
-        managerPage.fillAddCustomerForm(customerFirstName, customerLastName, customerPostCode);
-        managerPage.clickAddCustomerSubmitButton();
-        managerPage.getAlertTextAndAccept();
+        LoginPage loginPage = new LoginPage(driver, getWait());
+        context.setLoginPage(loginPage);
 
-        managerPage.clickOpenAccountTab();
-        managerPage.selectCustomerForAccount(customerFullName);
-        managerPage.selectCurrencyForAccount("Dollar");
-        managerPage.clickProcessButton();
-        managerPage.getAlertTextAndAccept();
-
-        managerPage.clickHomeButton();
+        // Pooled customer with a Dollar account, created in one script call instead of a dozen manager UI round trips
+        Customer customer = createCustomer("Dollar");
+        context.setCustomer(customer);
 
         // --- ACTUAL CUSTOMER LOGIN ---
-        customerAccountPage = loginPage.loginAsCustomer(BASE_URL, customerFullName);
+        context.setCustomerAccountPage(loginPage.loginAsCustomer(BASE_URL, customer.getFullName()));
     }
 
+    /**
+     * @return The customer created for the current test.
+     */
+    protected Customer getCustomer() {
+        return context().getCustomer();
+    }
 
-
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            log.info("Closing browser..."); // Log info message
-            driver.quit();
-        }
-        log.info("Test teardown complete.");
+    /**
+     * @return The account page of the logged-in test customer.
+     */
+    protected CustomerAccountPage getCustomerAccountPage() {
+        return context().getCustomerAccountPage();
     }
+
 }
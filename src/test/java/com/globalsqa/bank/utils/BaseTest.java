@@ -2,12 +2,7 @@ package com.globalsqa.bank.utils;
 
 import com.globalsqa.bank.pages.LoginPage;
 import com.globalsqa.bank.pages.ManagerPage;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.logging.log4j.LogManager;
-import org.jetbrains.annotations.NotNull;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -17,54 +12,102 @@ import org.apache.logging.log4j.Logger;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
-import java.time.Duration;
-
 public  class BaseTest {
     public static ThreadLocal<WebDriver> tlDriver = new ThreadLocal<>();
-    protected WebDriver driver;
-    protected WebDriverWait wait;
-    protected LoginPage loginPage;
-    protected ManagerPage managerPage;
+    // Per-invocation fixture state; test instances are shared across threads with parallel="methods"
+    private static final ThreadLocal<TestContext> tlContext = new ThreadLocal<>();
 
     protected Logger log = LogManager.getLogger(getClass());
 
-    protected final String BASE_URL = "https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login";
+    // globalsqa.com by default, the embedded stand-in with -Dbank.target=local
+    protected final String BASE_URL = LocalBankServer.loginUrl();
 
 
 
     @BeforeMethod
-    @Parameters("browser")
-    public void setup(@Optional("chrome") String browser) {
-        System.out.println("Setting up browser: " + browser + " for thread: " + Thread.currentThread().getId());
-        if (browser.equalsIgnoreCase("chrome")) {
-            tlDriver.set(new ChromeDriver());
-        } else if (browser.equalsIgnoreCase("firefox")) {
-            tlDriver.set(new FirefoxDriver());
-        } else {
-            System.out.println("Please pass the correct browser value: chrome or firefox");
-        }
-
-        driver = getDriver();
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        driver.get("https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login");
+    @Parameters({"browser", "profile"})
+    public void setup(@Optional("chrome") String browser, @Optional("standard") String profile) {
+        BrowserProfile browserProfile = BrowserProfile.fromName(profile);
+        log.info("Setting up browser: " + browser + " (" + browserProfile + " profile) for thread: " + Thread.currentThread().threadId());
+        // Lease a warm session from the pool instead of launching a new browser per test
+        tlDriver.set(DriverPool.lease(browser, browserProfile));
+
+        WebDriver driver = getDriver();
+        tlContext.set(new TestContext(driver, WaitPolicy.newWait(driver)));
+        driver.get(BASE_URL);
     }
 
     public static synchronized WebDriver getDriver() {
         return tlDriver.get();
     }
 
+    /**
+     * @return Fixture state of the test running on the current thread.
+     */
+    protected static TestContext context() {
+        return tlContext.get();
+    }
+
+    protected WebDriverWait getWait() {
+        return context().getWait();
+    }
+
+    protected LoginPage getLoginPage() {
+        return context().getLoginPage();
+    }
+
+    protected ManagerPage getManagerPage() {
+        return context().getManagerPage();
+    }
+
+    /**
+     * Takes a new customer from {@link CustomerSource} and creates it in this test's browser session,
+     * in one script call (default) or through the Bank Manager screens with -Dfixture.mode=ui.
+     * The browser stays on the current view (script) or the manager view (ui).
+     * @param currency Currency of the account to open ("Dollar", "Pound", "Rupee"), or null for no account.
+     * @return The created customer.
+     */
+    protected Customer createCustomer(String currency) {
+        Customer customer = CustomerSource.next();
+        if (CustomerFixtures.mode() == CustomerFixtures.Mode.UI) {
+            createCustomerThroughUi(customer, currency);
+        } else {
+            WebDriver driver = getDriver();
+            CustomerFixtures.seedCustomer(driver, customer.getFirstName(), customer.getLastName(), customer.getPostCode(), currency);
+            driver.navigate().refresh(); // The app reads localStorage only on load
+        }
+        return customer;
+    }
+
+    /**
+     * Creates the customer, and an account if a currency is given, by filling in the Bank Manager forms.
+     * @param customer The customer to create.
+     * @param currency Currency of the account to open, or null for no account.
+     */
+    protected void createCustomerThroughUi(Customer customer, String currency) {
+        ManagerPage managerPage = getLoginPage().loginAsManager(BASE_URL);
+        context().setManagerPage(managerPage);
+        // Prerequisite only: read the confirmations from the page-side queue instead of native dialogs.
+        // UI mode explicitly, since the scripted path captures the alert itself and never uses the hook
+        managerPage.setAlertMode(AlertInterceptor.Mode.INTERCEPT);
+        managerPage.addCustomer(customer.getFirstName(), customer.getLastName(), customer.getPostCode(), ExecutionMode.UI);
+        if (currency != null) {
+            managerPage.openAccount(customer.getFullName(), currency, ExecutionMode.UI);
+        }
+    }
+
 
 
 
     @AfterMethod
     public void tearDown() {
+        WebDriver driver = getDriver();
         if (driver != null) {
-            log.info("Closing browser..."); // Log info message
-            driver.quit();
+            log.info("Returning browser to pool..."); // Log info message
+            DriverPool.release(driver, BASE_URL);
             tlDriver.remove();
         }
+        tlContext.remove();
         log.info("Test teardown complete.");
     }
 
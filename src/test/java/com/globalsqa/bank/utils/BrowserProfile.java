@@ -0,0 +1,96 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Named browser configurations, chosen per run with the "profile" TestNG parameter
+ * (or -Dbrowser.profile). Lighter profiles trade visual fidelity for memory so more
+ * sessions fit on one CI node.
+ *
+ * STANDARD: the browser defaults, maximized window.
+ * HEADLESS: headless with a fixed viewport.
+ * LEAN: HEADLESS plus no images or web fonts, eager page loads and blocked ad/tracker hosts.
+ */
+public enum BrowserProfile {
+    STANDARD(false, false),
+    HEADLESS(true, false),
+    LEAN(true, true);
+
+    public static final Dimension VIEWPORT = new Dimension(1366, 768);
+
+    // Third-party hosts the hosted demo page pulls ads and analytics from; override with -Dbrowser.blockedHosts
+    private static final List<String> BLOCKED_HOSTS = Arrays.asList(System.getProperty("browser.blockedHosts",
+            "*.doubleclick.net,*.googlesyndication.com,*.google-analytics.com,*.googletagmanager.com,"
+                    + "*.googleadservices.com,adservice.google.com,*.adnxs.com,fonts.googleapis.com,fonts.gstatic.com").split(","));
+
+    private final boolean headless;
+    private final boolean lean;
+
+    BrowserProfile(boolean headless, boolean lean) {
+        this.headless = headless;
+        this.lean = lean;
+    }
+
+    /**
+     * Resolves a profile name case-insensitively; the -Dbrowser.profile system property wins over the parameter.
+     * @param name Profile name from testng.xml, may be null.
+     * @return The profile, STANDARD if none is given.
+     */
+    public static BrowserProfile fromName(String name) {
+        String selected = System.getProperty("browser.profile", name);
+        return selected == null || selected.isEmpty() ? STANDARD : valueOf(selected.trim().toUpperCase());
+    }
+
+    /**
+     * @return true if the window should keep the fixed {@link #VIEWPORT} instead of being maximized.
+     */
+    public boolean hasFixedViewport() {
+        return headless;
+    }
+
+    public ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            options.addArguments("--headless=new", "--window-size=" + VIEWPORT.getWidth() + "," + VIEWPORT.getHeight(),
+                    "--disable-gpu", "--disable-dev-shm-usage");
+        }
+        if (lean) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addArguments("--disable-extensions", "--disable-background-networking", "--mute-audio",
+                    "--blink-settings=imagesEnabled=false",
+                    "--host-resolver-rules=" + BLOCKED_HOSTS.stream()
+                            .map(host -> "MAP " + host.trim() + " ~NOTFOUND")
+                            .collect(Collectors.joining(", ")));
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        return options;
+    }
+
+    public FirefoxOptions firefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        if (headless) {
+            options.addArguments("-headless", "--width=" + VIEWPORT.getWidth(), "--height=" + VIEWPORT.getHeight());
+        }
+        if (lean) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.addPreference("media.autoplay.default", 5);
+            // Firefox has no host-resolver switch; strict tracking protection blocks the same ad/analytics hosts
+            options.addPreference("browser.contentblocking.category", "strict");
+            options.addPreference("privacy.trackingprotection.enabled", true);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,164 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every WebDriver command (driver, element, alert, navigation and script calls)
+ * through Selenium's {@link EventFiringDecorator} and aggregates latencies
+ * per command type, per page-object method and per test. Explicit waits built by
+ * {@link WaitPolicy} report here too, per page method and condition.
+ */
+public final class CommandTimings implements WebDriverListener {
+
+    private static final Logger log = LogManager.getLogger(CommandTimings.class);
+    private static final CommandTimings INSTANCE = new CommandTimings();
+    private static final String PAGES_PACKAGE = "com.globalsqa.bank.pages.";
+    private static final String OUTSIDE_PAGES = "(test code)";
+
+    private static final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> byPageMethod = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> byTest = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> commandsByTest = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> byWaitCondition = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<String> currentTest = ThreadLocal.withInitial(() -> "(unattributed)");
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private CommandTimings() {
+    }
+
+    /**
+     * Wraps a driver so all its commands (and those of the elements, alerts and
+     * navigation objects it returns) are timed.
+     * @param driver The raw driver.
+     * @return The instrumented driver.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * Attributes subsequent commands on this thread to the given test.
+     * @param testName Qualified test name, e.g. "ManagerTests.testDeleteCustomer".
+     */
+    public static void setCurrentTest(String testName) {
+        currentTest.set(testName);
+    }
+
+    /**
+     * @param testName Qualified test name.
+     * @return Per-command latency of one test, ordered by command name.
+     */
+    public static Map<String, LatencyHistogram> getTestBreakdown(String testName) {
+        Map<String, LatencyHistogram> commands = commandsByTest.get(testName);
+        return commands == null ? Collections.emptyMap() : new TreeMap<>(commands);
+    }
+
+    /**
+     * Writes all aggregates as JSON.
+     * @param file Target file; parent directories are created.
+     */
+    public static void writeJson(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("byCommand", toMaps(byCommand));
+        report.put("byPageMethod", toMaps(byPageMethod));
+        report.put("byTest", toMaps(byTest));
+        Map<String, Object> perTest = new TreeMap<>();
+        commandsByTest.forEach((test, commands) -> perTest.put(test, toMaps(commands)));
+        report.put("commandsByTest", perTest);
+        report.put("byWaitCondition", toMaps(byWaitCondition));
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("WebDriver command timings written to " + file);
+        } catch (IOException e) {
+            log.error("Could not write command timings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Default location of the machine-readable timings file.
+     */
+    public static Path defaultReportFile() {
+        return Paths.get(System.getProperty("user.dir"), "test-output", "metrics", "webdriver-timings.json");
+    }
+
+    /**
+     * Records how long an explicit wait took to be satisfied, or to time out.
+     * @param condition Description of the waited-for condition.
+     * @param nanos Time spent in the wait.
+     * @param timedOut Whether the wait gave up.
+     */
+    public static void recordWait(String condition, long nanos, boolean timedOut) {
+        String key = callingPageMethod() + " -> " + condition + (timedOut ? " (timed out)" : "");
+        byWaitCondition.computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private static void record(Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String test = currentTest.get();
+
+        byCommand.computeIfAbsent(command, k -> new LatencyHistogram()).record(elapsed);
+        byPageMethod.computeIfAbsent(callingPageMethod(), k -> new LatencyHistogram()).record(elapsed);
+        byTest.computeIfAbsent(test, k -> new LatencyHistogram()).record(elapsed);
+        commandsByTest.computeIfAbsent(test, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, k -> new LatencyHistogram()).record(elapsed);
+    }
+
+    private static String callingPageMethod() {
+        Optional<String> frame = stackWalker.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGES_PACKAGE))
+                .reduce((inner, outer) -> outer) // the page method the test called, not its helpers
+                .map(f -> f.getDeclaringClass().getSimpleName() + "." + f.getMethodName()));
+        return frame.orElse(OUTSIDE_PAGES);
+    }
+
+    private static Map<String, Object> toMaps(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> maps = new TreeMap<>();
+        histograms.forEach((name, histogram) -> maps.put(name, histogram.toMap()));
+        return maps;
+    }
+}
@@ -0,0 +1,40 @@
+package com.globalsqa.bank.utils;
+
+/**
+ * Immutable customer test data.
+ */
+public final class Customer {
+    private final String firstName;
+    private final String lastName;
+    private final String postCode;
+
+    public Customer(String firstName, String lastName, String postCode) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.postCode = postCode;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostCode() {
+        return postCode;
+    }
+
+    /**
+     * @return "First Last", the text shown in the customer dropdowns.
+     */
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    @Override
+    public String toString() {
+        return getFullName() + " (" + postCode + ")";
+    }
+}
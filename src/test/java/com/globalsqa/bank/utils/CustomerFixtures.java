@@ -0,0 +1,58 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Seeds customers and accounts straight into the banking app's persisted state.
+ * The AngularJS app keeps its data in localStorage under the "User" and
+ * "Account" keys and only reads them on page load, so a seed is followed by a reload.
+ *
+ * The mode is chosen with the {@code fixture.mode} system property:
+ * "script" (default) writes the data in one script call, "ui" clicks through ManagerPage.
+ */
+public final class CustomerFixtures {
+
+    public enum Mode { SCRIPT, UI }
+
+    private static final String SEED_SCRIPT =
+            "var users = JSON.parse(localStorage.getItem('User') || '{}');" +
+            "var accounts = JSON.parse(localStorage.getItem('Account') || '{}');" +
+            "var userId = Object.keys(users).reduce(function(max, k) { return Math.max(max, +k); }, 0) + 1;" +
+            "var accountNo = Object.keys(accounts).reduce(function(max, k) { return Math.max(max, +k); }, 1000) + 1;" +
+            "var user = {fName: arguments[0], lName: arguments[1], id: userId, postCd: arguments[2], accountNo: [], date: new Date()};" +
+            "if (arguments[3]) {" +
+            "  accounts[accountNo] = {accountNo: accountNo, currency: arguments[3], amount: 0};" +
+            "  user.accountNo.push(accountNo);" +
+            "  localStorage.setItem('Account', JSON.stringify(accounts));" +
+            "}" +
+            "users[userId] = user;" +
+            "localStorage.setItem('User', JSON.stringify(users));" +
+            "return arguments[3] ? accountNo : -1;";
+
+    private CustomerFixtures() {
+    }
+
+    /**
+     * @return The fixture mode selected for this run.
+     */
+    public static Mode mode() {
+        return Mode.valueOf(System.getProperty("fixture.mode", "script").toUpperCase());
+    }
+
+    /**
+     * Writes a customer (and optionally an account) into the app's localStorage.
+     * The driver must already be on the banking app so its default data is initialized.
+     * The caller is responsible for reloading the page before using the new data.
+     * @param driver The WebDriver on the banking app origin.
+     * @param firstName Customer first name.
+     * @param lastName Customer last name.
+     * @param postCode Customer post code.
+     * @param currency Currency of the account to open ("Dollar", "Pound", "Rupee"), or null for no account.
+     * @return The new account number, or -1 when no account was opened.
+     */
+    public static long seedCustomer(WebDriver driver, String firstName, String lastName, String postCode, String currency) {
+        Object accountNo = ((JavascriptExecutor) driver).executeScript(SEED_SCRIPT, firstName, lastName, postCode, currency);
+        return ((Number) accountNo).longValue();
+    }
+}
@@ -0,0 +1,41 @@
+package com.globalsqa.bank.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where tests get their customers. Names come straight from {@link TestDataGenerator}, whose
+ * lock-free counter never hands out the same full name twice, so parallel tests never collide.
+ *
+ * The bank app keeps its data in the browser session's localStorage, which {@link DriverPool}
+ * clears between tests, so a customer still has to be created in the session of the test using
+ * it; {@link BaseTest#createCustomer(String)} does that with one script call.
+ */
+public final class CustomerSource {
+
+    private static final AtomicLong issued = new AtomicLong();
+
+    private CustomerSource() {
+    }
+
+    /**
+     * Hands out a new customer and stores it in the current test's trace when recording.
+     * When replaying a recorded trace (see {@link DriverMode}) the customers of the recording are returned instead.
+     * @return A customer with a name unique within this run.
+     */
+    public static Customer next() {
+        if (DriverMode.current() == DriverMode.REPLAY) {
+            return TraceRecorder.replayedCustomer();
+        }
+        Customer customer = TestDataGenerator.nextCustomer();
+        issued.incrementAndGet();
+        TraceRecorder.recordCustomer(customer);
+        return customer;
+    }
+
+    /**
+     * @return Customer count for the end-of-suite log.
+     */
+    public static String summary() {
+        return "Test customers: " + issued.get() + " generated";
+    }
+}
@@ -0,0 +1,19 @@
+package com.globalsqa.bank.utils;
+
+/**
+ * Where WebDriver commands go, chosen with -Ddriver.mode (default live).
+ *
+ * LIVE: real browser sessions from {@link DriverPool}.
+ * RECORD: real browser sessions whose wire traffic {@link TraceRecorder} writes to one trace per test.
+ * REPLAY: no browser; each test gets a {@link ReplayDriver} that answers from its recorded trace.
+ */
+public enum DriverMode {
+    LIVE, RECORD, REPLAY;
+
+    /**
+     * @return The driver mode selected for this run.
+     */
+    public static DriverMode current() {
+        return valueOf(System.getProperty("driver.mode", "live").trim().toUpperCase());
+    }
+}
@@ -0,0 +1,423 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe pool of warm WebDriver sessions keyed by browser type and profile.
+ * A session is isolated for the next test when it is returned (see {@link Isolation}) and
+ * recycled after {@code driver.pool.maxUses} leases, a failed health check or a failed isolation.
+ *
+ * Tuning via system properties:
+ * driver.pool.size (max live sessions per browser, default: number of cores),
+ * driver.pool.maxUses (leases before a session is recycled, default 20),
+ * driver.isolation (storage | window | context, default window).
+ * With -Ddriver.mode=record sessions send their traffic through {@link TraceRecorder};
+ * with -Ddriver.mode=replay no browser is started at all.
+ */
+public final class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    private static final int MAX_SIZE = Integer.getInteger("driver.pool.size", Runtime.getRuntime().availableProcessors());
+    private static final int MAX_USES = Integer.getInteger("driver.pool.maxUses", 20);
+    private static final long LEASE_TIMEOUT_SECONDS = 120;
+    private static final long SLOT_POLL_MILLIS = 100;
+
+    private static final Map<String, BlockingDeque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private static final Map<String, Semaphore> capacity = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong recycled = new AtomicLong();
+    private static final AtomicLong startupNanos = new AtomicLong();
+
+    /**
+     * How a returned session is cleaned up for the next test; each falls back to a full restart on errors.
+     */
+    public enum Isolation {
+        /** Clear cookies and web storage, then navigate to the login page in the same tab. */
+        STORAGE,
+        /** STORAGE plus a fresh tab with the old ones closed, which also drops page state, timers and open dialogs. */
+        WINDOW,
+        /**
+         * A new WebDriver BiDi user context per test: its own cookies and storage, nothing to clear.
+         * Sessions start with BiDi enabled; a browser that cannot create user contexts falls back to WINDOW.
+         */
+        CONTEXT
+    }
+
+    private static final Isolation ISOLATION = Isolation.valueOf(System.getProperty("driver.isolation", "window").trim().toUpperCase());
+    private static final AtomicLong isolations = new AtomicLong();
+    private static final AtomicLong isolationNanos = new AtomicLong();
+    private static final boolean RECORDING = DriverMode.current() == DriverMode.RECORD;
+
+    private DriverPool() {
+    }
+
+    /**
+     * Leases a session for the given browser and profile, reusing an idle one when available.
+     * Blocks while the pool for that combination is at capacity and every session is leased.
+     * @param browser "chrome" or "firefox".
+     * @param profile Browser profile the session must have been started with.
+     * @return A ready-to-use WebDriver.
+     */
+    public static WebDriver lease(String browser, BrowserProfile profile) {
+        if (DriverMode.current() == DriverMode.REPLAY) {
+            return CommandTimings.instrument(TraceRecorder.openReplay()); // Not pooled; release() quits it
+        }
+        String name = browser.toLowerCase();
+        return lease(name + ":" + profile, profile, () -> startSession(name, profile));
+    }
+
+    /**
+     * Leases a session from the pool with the given key. Until one is available, waits for whichever
+     * comes first: a session returned by another test or a free slot to start a new one in.
+     * @param key Pool key, browser and profile.
+     * @param profile Browser profile the sessions of this pool are started with.
+     * @param starter Starts a new session when the pool is below capacity.
+     * @return A ready-to-use WebDriver.
+     */
+    static WebDriver lease(String key, BrowserProfile profile, Supplier<WebDriver> starter) {
+        BlockingDeque<PooledSession> queue = idle.computeIfAbsent(key, k -> new LinkedBlockingDeque<>());
+        Semaphore permits = capacity.computeIfAbsent(key, k -> new Semaphore(MAX_SIZE));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LEASE_TIMEOUT_SECONDS);
+
+        PooledSession session = null;
+        while (session == null) {
+            PooledSession candidate = queue.pollFirst();
+            if (candidate == null && permits.tryAcquire()) {
+                try {
+                    session = new PooledSession(key, profile, starter.get());
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                misses.incrementAndGet();
+                break;
+            }
+            if (candidate == null) {
+                candidate = awaitReturned(queue, key, deadline);
+            }
+            if (candidate != null) {
+                if (isHealthy(candidate.driver)) {
+                    hits.incrementAndGet();
+                    session = candidate;
+                } else {
+                    discard(candidate); // Frees a slot, taken on the next round
+                }
+            }
+        }
+
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Returns a leased session to the pool. The session is isolated for the next test,
+     * or quit if it exceeded its use budget or cannot be isolated.
+     * @param driver The driver obtained from {@link #lease(String, BrowserProfile)}.
+     * @param baseUrl The login URL the session should be parked on.
+     */
+    public static void release(WebDriver driver, String baseUrl) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            driver.quit();
+            return;
+        }
+        if (session.uses >= MAX_USES || !isolate(session, baseUrl)) {
+            recycled.incrementAndGet();
+            discard(session);
+            return;
+        }
+        idle.get(session.browser).offerFirst(session);
+    }
+
+    /**
+     * Quits every idle and leased session. Called once at suite end.
+     */
+    public static void shutdown() {
+        idle.values().forEach(queue -> {
+            PooledSession session;
+            while ((session = queue.pollFirst()) != null) {
+                discard(session);
+            }
+        });
+        leased.values().forEach(DriverPool::discard);
+        leased.clear();
+    }
+
+    /**
+     * @return Max live sessions per browser and profile.
+     */
+    public static int getMaxSize() {
+        return MAX_SIZE;
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getRecycled() {
+        return recycled.get();
+    }
+
+    /**
+     * @return Share of leases served by an already running session, 0..1.
+     */
+    public static double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * Estimates the browser startup time avoided by reuse: every hit saves one
+     * average cold start.
+     * @return Saved time.
+     */
+    public static Duration getStartupTimeSaved() {
+        long cold = misses.get();
+        if (cold == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(startupNanos.get() / cold * hits.get());
+    }
+
+    /**
+     * @return Mean time to isolate a returned session, the per-test cost that replaces a browser start.
+     */
+    public static Duration getMeanIsolationTime() {
+        long count = isolations.get();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(isolationNanos.get() / count);
+    }
+
+    public static String summary() {
+        return String.format("Driver pool: %d leases, %d warm hits (%.0f%%), %d cold starts, %d recycled, ~%d ms startup saved, "
+                        + "%s isolation %d ms on average",
+                hits.get() + misses.get(), hits.get(), getHitRate() * 100, misses.get(), recycled.get(),
+                getStartupTimeSaved().toMillis(), ISOLATION.name().toLowerCase(), getMeanIsolationTime().toMillis());
+    }
+
+    /**
+     * Waits briefly for a session to be returned to the pool. A slot freed by a discarded session
+     * does not wake the waiter, so the wait is short and the caller checks the slots again.
+     * @return The returned session, or null if none came back within the slice.
+     */
+    private static PooledSession awaitReturned(BlockingDeque<PooledSession> queue, String key, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new IllegalStateException("Timed out waiting for a free " + key + " session");
+        }
+        try {
+            return queue.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(SLOT_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + key + " session", e);
+        }
+    }
+
+    private static WebDriver startSession(String browser, BrowserProfile profile) {
+        log.info("Starting new " + browser + " session (" + profile + " profile) for thread: " + Thread.currentThread().threadId());
+        long start = System.nanoTime();
+        WebDriver driver;
+        if (browser.equals("chrome")) {
+            ChromeOptions options = profile.chromeOptions();
+            if (ISOLATION == Isolation.CONTEXT) {
+                options.setCapability("webSocketUrl", true);
+            }
+            driver = RECORDING
+                    ? new ChromeDriver(ChromeDriverService.createDefaultService(), options, recordingClient())
+                    : new ChromeDriver(options);
+        } else if (browser.equals("firefox")) {
+            FirefoxOptions options = profile.firefoxOptions();
+            if (ISOLATION == Isolation.CONTEXT) {
+                options.setCapability("webSocketUrl", true);
+            }
+            driver = RECORDING
+                    ? new FirefoxDriver(GeckoDriverService.createDefaultService(), options, recordingClient())
+                    : new FirefoxDriver(options);
+        } else {
+            throw new IllegalArgumentException("Please pass the correct browser value: chrome or firefox");
+        }
+        driver = CommandTimings.instrument(driver);
+        sizeWindow(driver, profile);
+        WaitPolicy.applyTo(driver); // No implicit wait; page objects synchronize with explicit waits only
+        startupNanos.addAndGet(System.nanoTime() - start);
+        return driver;
+    }
+
+    private static ClientConfig recordingClient() {
+        return ClientConfig.defaultConfig().withFilter(TraceRecorder.filter());
+    }
+
+    private static void sizeWindow(WebDriver driver, BrowserProfile profile) {
+        if (profile.hasFixedViewport()) {
+            driver.manage().window().setSize(BrowserProfile.VIEWPORT);
+        } else {
+            driver.manage().window().maximize();
+        }
+    }
+
+    /**
+     * Gives the session a clean state for the next test and parks it on the login page.
+     * @return false if the session could not be isolated and should be discarded (full restart).
+     */
+    private static boolean isolate(PooledSession session, String baseUrl) {
+        long start = System.nanoTime();
+        try {
+            dismissOpenAlert(session.driver); // A test that failed mid-dialog would otherwise block every command
+            reportUnreadAlerts(session.driver);
+            if (session.isolation == Isolation.CONTEXT) {
+                try {
+                    switchUserContext(session);
+                } catch (RuntimeException e) {
+                    log.warn("BiDi user contexts unavailable for " + session.browser + ", using window isolation: " + e.getMessage());
+                    session.isolation = Isolation.WINDOW;
+                }
+            }
+            if (session.isolation != Isolation.CONTEXT) {
+                clearStorage(session.driver);
+                if (session.isolation == Isolation.WINDOW) {
+                    switchToFreshTab(session.driver);
+                }
+            }
+            session.driver.get(baseUrl);
+            isolations.incrementAndGet();
+            isolationNanos.addAndGet(System.nanoTime() - start);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Session isolation failed, recycling: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void dismissOpenAlert(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // Nothing open
+        }
+    }
+
+    /**
+     * Logs the messages left in the {@link AlertInterceptor} queue: alerts the test raised but never
+     * checked, which would otherwise go unnoticed once the page is reset.
+     */
+    private static void reportUnreadAlerts(WebDriver driver) {
+        List<String> unread = AlertInterceptor.drain(driver);
+        if (unread != null && !unread.isEmpty()) {
+            log.warn("Test left " + unread.size() + " intercepted alert(s) unread: " + unread);
+        }
+    }
+
+    private static void clearStorage(WebDriver driver) {
+        String url = driver.getCurrentUrl();
+        if (url != null && url.startsWith("http")) {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+        driver.manage().deleteAllCookies();
+    }
+
+    /**
+     * Opens a new tab and closes every other one. Web storage is per origin, not per tab,
+     * so it has to be cleared before this.
+     */
+    private static void switchToFreshTab(WebDriver driver) {
+        String freshTab = driver.switchTo().newWindow(WindowType.TAB).getWindowHandle();
+        closeOtherWindows(driver, freshTab);
+    }
+
+    /**
+     * Moves the session into a new user context and removes the previous one together with its tabs.
+     */
+    private static void switchUserContext(PooledSession session) {
+        WebDriver driver = session.driver;
+        Browser browser = new Browser(driver);
+        String userContext = browser.createUserContext();
+        BrowsingContext tab = new BrowsingContext(driver, new CreateContextParameters(WindowType.TAB).userContext(userContext));
+        driver.switchTo().window(tab.getId());
+        if (session.userContext != null) {
+            browser.removeUserContext(session.userContext);
+        }
+        session.userContext = userContext;
+        closeOtherWindows(driver, tab.getId()); // Tabs of the default context, which cannot be removed
+        sizeWindow(driver, session.profile);
+    }
+
+    private static void closeOtherWindows(WebDriver driver, String keep) {
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(keep)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(keep);
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void discard(PooledSession session) {
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            log.warn("Failed to quit " + session.browser + " session: " + e.getMessage());
+        } finally {
+            Semaphore permits = capacity.get(session.browser);
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private static final class PooledSession {
+        private final String browser;
+        private final BrowserProfile profile;
+        private final WebDriver driver;
+        private int uses;
+        private Isolation isolation = ISOLATION;
+        private String userContext; // Current BiDi user context, null while in the default one
+
+        private PooledSession(String browser, BrowserProfile profile, WebDriver driver) {
+            this.browser = browser;
+            this.profile = profile;
+            this.driver = driver;
+        }
+    }
+}
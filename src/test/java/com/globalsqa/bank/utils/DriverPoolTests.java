@@ -0,0 +1,120 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Browser-free checks of {@link DriverPool}: sessions are stand-ins that answer every command
+ * the pool sends (health check, isolation, quit) without a browser behind them.
+ */
+public class DriverPoolTests {
+
+    private static final String BLANK = "about:blank";
+
+    @Test
+    public void testWaitingThreadsGetReturnedSessions() throws Exception {
+        int poolSize = DriverPool.getMaxSize();
+        int threads = poolSize * 2 + 1;
+        String key = "stub:" + BrowserProfile.HEADLESS;
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                runs.add(executor.submit(() -> {
+                    for (int round = 0; round < 3; round++) {
+                        WebDriver driver = DriverPool.lease(key, BrowserProfile.HEADLESS, () -> {
+                            started.incrementAndGet();
+                            return new StubDriver();
+                        });
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        sleep(20); // Hold the session like a test would
+                        inUse.decrementAndGet();
+                        DriverPool.release(driver, BLANK);
+                    }
+                    return null;
+                }));
+            }
+            // Far below the lease timeout: waiters must pick up returned sessions, not sit out the timeout
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertTrue(started.get() <= poolSize, started.get() + " sessions started for a pool of " + poolSize);
+        Assert.assertTrue(maxInUse.get() <= poolSize, maxInUse.get() + " sessions leased at once from a pool of " + poolSize);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void shutdownPool() {
+        DriverPool.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A session with one tab, no dialog and an empty page.
+     */
+    private static final class StubDriver extends RemoteWebDriver {
+
+        private static final SessionId SESSION = new SessionId("stub");
+
+        private StubDriver() {
+            super(command -> {
+                switch (command.getName()) {
+                    case DriverCommand.GET_ALERT_TEXT:
+                    case DriverCommand.DISMISS_ALERT:
+                        throw new NoAlertPresentException();
+                    case DriverCommand.NEW_SESSION:
+                        return response(new ImmutableCapabilities("browserName", "stub").asMap());
+                    case DriverCommand.GET_CURRENT_URL:
+                        return response(BLANK);
+                    case DriverCommand.GET_CURRENT_WINDOW_HANDLE:
+                        return response("tab");
+                    case DriverCommand.GET_WINDOW_HANDLES:
+                        return response(Collections.singletonList("tab"));
+                    case DriverCommand.SWITCH_TO_NEW_WINDOW:
+                        return response(Map.of("handle", "tab", "type", "tab"));
+                    default:
+                        return response(null);
+                }
+            }, new ImmutableCapabilities("browserName", "stub"));
+        }
+
+        private static Response response(Object value) {
+            Response response = new Response(SESSION);
+            response.setState("success");
+            response.setValue(value);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-method durations (test plus its @BeforeMethod/@AfterMethod) persisted across runs in
+ * durations.properties (see {@link HistoryStore}). Each run is blended into the stored value with an
+ * exponentially weighted average, so one slow run does not reorder the whole suite.
+ */
+public final class DurationHistory {
+
+    private static final Logger log = LogManager.getLogger(DurationHistory.class);
+    private static final Path FILE = HistoryStore.file("durations.properties");
+    private static final double SMOOTHING = 0.5; // Weight of the latest run
+
+    private static final Map<String, Long> history = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> currentRun = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            Properties properties = HistoryStore.load(FILE);
+            for (String key : properties.stringPropertyNames()) {
+                history.put(key, Long.parseLong(properties.getProperty(key)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read duration history: " + e.getMessage());
+        }
+    }
+
+    private DurationHistory() {
+    }
+
+    /**
+     * Adds time spent on a method in this run (retries and fixtures accumulate).
+     * @param key Method key, see {@link LptScheduler#key(String, String, String)}.
+     * @param millis Elapsed time.
+     */
+    public static void record(String key, long millis) {
+        currentRun.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(Math.max(0, millis));
+    }
+
+    /**
+     * @return Expected duration in milliseconds, or -1 if the method has never run.
+     */
+    public static long estimate(String key) {
+        return history.getOrDefault(key, -1L);
+    }
+
+    public static void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        try {
+            HistoryStore.update(FILE, "Smoothed per-method durations in ms, used to schedule the longest tests first", properties ->
+                    currentRun.forEach((key, millis) -> {
+                        String stored = properties.getProperty(key);
+                        long blended = stored == null ? millis.get()
+                                : Math.round(SMOOTHING * millis.get() + (1 - SMOOTHING) * Long.parseLong(stored));
+                        properties.setProperty(key, String.valueOf(blended));
+                        history.put(key, blended);
+                    }));
+            currentRun.clear();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not save duration history: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.globalsqa.bank.utils;
+
+/**
+ * How the page objects' composite flows (deposit, withdrawal, add customer, open account) are executed.
+ *
+ * UI: one WebDriver command per click, keystroke and wait, exactly as a user would.
+ * SCRIPT: the whole flow in one script call inside the page (see {@link ScriptedFlow}).
+ *
+ * Tests that verify the UI itself call the individual step methods, which always use the UI.
+ * Tests that only need a flow as setup call the composite method and get the run's default,
+ * -Dexecution.mode (script unless set to ui).
+ */
+public enum ExecutionMode {
+    UI, SCRIPT;
+
+    /**
+     * @return The execution mode selected for this run.
+     */
+    public static ExecutionMode current() {
+        return valueOf(System.getProperty("execution.mode", "script").trim().toUpperCase());
+    }
+}
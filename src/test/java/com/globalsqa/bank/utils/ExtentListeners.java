@@ -1,86 +1,119 @@
 package com.globalsqa.bank.utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IConfigurationListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
 
-public class ExtentListeners implements ITestListener {
-    //ExtentReports Instance
-    private static ExtentReports extentReports = ExtentManager.getInstance();
-    //ThreadLocal ensures ExtentTest object is unique for each thread when running tests in parallel
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+public class ExtentListeners implements ITestListener, IConfigurationListener {
+    private static final Logger logger = LogManager.getLogger(ExtentListeners.class);
+    //Append-only event log the HTML report is rendered from at suite end
+    private static ReportEventLog events = ExtentManager.getEventLog();
+    //ThreadLocal ensures the report test id is unique for each thread when running tests in parallel
+    private static ThreadLocal<String> test = new ThreadLocal<>();
 
 
     @Override
     public void onStart(ITestContext context) {
-        System.out.println("Test Suite started: " + context.getName());
+        logger.info("Test Suite started: " + context.getName());
         // No need to create ExtentReports instance here as ExtentManager handles it.
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        System.out.println("Test Suite finished: " + context.getName());
-        // Flush the report at the end of the entire test suite execution
-        ExtentManager.flushReport();
+        logger.info("Test Suite finished: " + context.getName());
+        // The report is rendered once by SuiteListener after every <test> has finished
+    }
+
+    @Override
+    public void beforeConfiguration(ITestResult result, ITestNGMethod testMethod) {
+        // Attribute @BeforeMethod/@AfterMethod commands to the test they prepare
+        if (testMethod != null) {
+            CommandTimings.setCurrentTest(qualifiedName(testMethod));
+            if (result.getMethod().isBeforeMethodConfiguration()) {
+                TestLogCapture.begin(qualifiedName(testMethod)); // Setup lines belong to the test's log
+            }
+        }
     }
 
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("Test Started:  " + result.getMethod().getMethodName());
+        CommandTimings.setCurrentTest(qualifiedName(result.getMethod()));
+        TestLogCapture.begin(qualifiedName(result.getMethod()));
+        logger.info("Test Started:  " + result.getMethod().getMethodName());
         // Create a new test entry in the report for each test method
-        ExtentTest extentTest = extentReports.createTest(result.getMethod().getMethodName());
-        test.set(extentTest); // Store in ThreadLocal
+        test.set(events.testStarted(result.getMethod().getMethodName(), result.getTestContext().getName())); // Store in ThreadLocal
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("Test Passed: " + result.getMethod().getMethodName());
+        logger.info("Test Passed: " + result.getMethod().getMethodName());
         // Log test status as PASS
-        test.get().log(Status.PASS, "Test Passed");
+        log(Status.PASS, "Test Passed");
+        logCommandTimings(result);
+        logCapturedLines();
+        events.testFinished(test.get(), Status.PASS.name());
+        test.remove(); // Pool threads are reused: the next test must not see this finished entry
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("Test failed: " + result.getMethod().getMethodName());
+        logger.info("Test failed: " + result.getMethod().getMethodName());
         // Log test status as FAIL
-        test.get().log(Status.FAIL, "Test Failed");
-        test.get().log(Status.FAIL, result.getThrowable());// Log the exception/error
+        log(Status.FAIL, "Test Failed");
+        log(Status.FAIL, stackTrace(result.getThrowable()));// Log the exception/error
+        logCommandTimings(result);
 
         // Capture screenshot on failure
         try {
             // Get the WebDriver instance from BaseTest (or BaseCustomerTest)
             // This requires access to the driver from the test context
-            WebDriver driver = ((BaseTest) result.getInstance()).driver; // Cast to BaseTest to access driver
+            WebDriver driver = BaseTest.getDriver(); // Listeners run on the test's thread, so this is the test's driver
             String screenshotPath = takeScreenshot(driver, result.getMethod().getMethodName());
-            test.get().fail("Screenshot: " + test.get().addScreenCaptureFromPath(screenshotPath));
-            // Note: This casting works if all test classes extend BaseTest.
-            // If you have BaseCustomerTest extending BaseTest, this cast will still work.
-        } catch (NullPointerException | IOException e) {
+            events.screenshot(test.get(), Status.FAIL.name(), screenshotPath);
+        } catch (RuntimeException | IOException e) {
 
-            test.get().fail("Could not capture screeenshot: " + e.getMessage());
+            log(Status.FAIL, "Could not capture screeenshot: " + e.getMessage());
         }
+        logCapturedLines();
+        events.testFinished(test.get(), Status.FAIL.name());
+        test.remove();
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("Test skipped: " + result.getMethod().getMethodName());
+        logger.info("Test skipped: " + result.getMethod().getMethodName());
         // Log test status as SKIP
-        test.get().log(Status.SKIP, "Test Skipped");
-        test.get().log(Status.SKIP, result.getThrowable()); // Log the reason for skipping
+        if (test.get() == null) {
+            // Skipped before it started (e.g. a failed @BeforeMethod), so there is no report entry yet
+            test.set(events.testStarted(result.getMethod().getMethodName(), result.getTestContext().getName()));
+        }
+        if (result.wasRetried()) {
+            // This attempt failed and will run again; show why and what it cost
+            long costMillis = (Long) result.getAttribute(RetryAnalyzer.RETRY_COST_MILLIS);
+            log(Status.WARNING, "Retried after a " + result.getAttribute(RetryAnalyzer.RETRY_CAUSE) + " failure, attempt cost "
+                    + String.format("%.1f", costMillis / 1000.0) + " s");
+        } else {
+            log(Status.SKIP, "Test Skipped");
+        }
+        log(Status.SKIP, stackTrace(result.getThrowable())); // Log the reason for skipping
+        logCapturedLines();
+        events.testFinished(test.get(), result.wasRetried() ? Status.WARNING.name() : Status.SKIP.name());
+        test.remove();
     }
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
@@ -89,29 +122,68 @@ public class ExtentListeners implements ITestListener {
 
 
 
-       /**
-     * Takes a screenshot and saves it to the "test-output/Screenshots" directory.
+    /**
+     * Adds the test's WebDriver command latency breakdown (setup included) to its report entry.
+     * @param result The finished test.
+     */
+    private void logCommandTimings(ITestResult result) {
+        Map<String, LatencyHistogram> breakdown = CommandTimings.getTestBreakdown(qualifiedName(result.getMethod()));
+        if (breakdown.isEmpty()) {
+            return;
+        }
+        String[][] rows = new String[breakdown.size() + 1][];
+        rows[0] = new String[]{"Command", "Count", "Total ms", "p50 ms", "p95 ms", "Max ms"};
+        int i = 1;
+        for (Map.Entry<String, LatencyHistogram> entry : breakdown.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            rows[i++] = new String[]{entry.getKey(), String.valueOf(h.getCount()), String.format("%.1f", h.getTotalMillis()),
+                    String.format("%.1f", h.getPercentileMillis(50)), String.format("%.1f", h.getPercentileMillis(95)),
+                    String.format("%.1f", h.getMaxMillis())};
+        }
+        log(Status.INFO, MarkupHelper.createTable(rows).getMarkup());
+    }
+
+    /**
+     * Attaches the log lines captured for this test (setup included) to its report entry.
+     */
+    private void logCapturedLines() {
+        List<String> lines = TestLogCapture.end();
+        if (!lines.isEmpty()) {
+            log(Status.INFO, MarkupHelper.createCodeBlock(String.join("", lines)).getMarkup());
+        }
+    }
+
+    private static void log(Status status, String details) {
+        events.log(test.get(), status.name(), details);
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        if (throwable == null) {
+            return "";
+        }
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        return MarkupHelper.createCodeBlock(trace.toString()).getMarkup();
+    }
+
+    private static String qualifiedName(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    }
+
+    /**
+     * Grabs the screenshot bytes on the test thread and hands them to {@link ScreenshotWriter};
+     * encoding and disk I/O happen in the background.
      * @param driver The WebDriver instance.
      * @param methodName The name of the test method for naming the screenshot.
-     * @return The absolute path to the saved screenshot file.
-     * @throws IOException If there's an error saving the screenshot.
+     * @return The absolute path the screenshot is being written to.
+     * @throws IOException If the driver is not available.
      */
     private String takeScreenshot(WebDriver driver, String methodName) throws IOException {
         if (driver == null) {
-            System.err.println("WebDriver instance is null, cannot take screenshot.");
-            return "";
+            throw new IOException("WebDriver instance is null, cannot take screenshot.");
         }
 
-        File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
-        String screenshotName = methodName + "_" + timestamp + ".png";
-        String screenshotDir = System.getProperty("user.dir") + "/test-output/Screenshots/";
-
-        Path targetPath = Paths.get(screenshotDir + screenshotName);
-        Files.createDirectories(targetPath.getParent()); // Create directory if it doesn't exist
-        Files.copy(screenshotFile.toPath(), targetPath);
-
-        System.out.println("Screenshot saved: " + targetPath.toString());
-        return targetPath.toString(); // Return absolute path for ExtentReports
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return ScreenshotWriter.submit(png, methodName).toString(); // Return absolute path for ExtentReports
     }
 }
@@ -1,67 +1,86 @@
 package com.globalsqa.bank.utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class ExtentManager {
-    private static ExtentReports extent;
-    private  static String reportFileName = "Test-Automation Report-"+  new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".html";
-    private static String reportFilePath = System.getProperty("user.dir")+ "/test-output/ExtentReports/" + reportFileName;
+    private static final Logger log = LogManager.getLogger(ExtentManager.class);
+
+    private  static String reportFileName = "Test-Automation Report-"+  new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+    private static Path reportDir = Paths.get(System.getProperty("user.dir"), "test-output", "ExtentReports");
+    private static Path reportFilePath = reportDir.resolve(reportFileName + ".html");
+    private static Path eventFilePath = reportDir.resolve(reportFileName + ".events.jsonl");
+
+    private static ScheduledExecutorService periodicRenderer;
+    private static long renderedEventCount = -1;
 
     /**
-     * Initializes and returns the ExtentReports instance.
-     * If the instance is null, it creates a new one.
-     * @return ExtentReports instance.
+     * Lazy holder: the JVM guarantees the event log is created exactly once,
+     * even when parallel tests hit {@link #getEventLog()} at the same time.
      */
-    public static ExtentReports getInstance(){
-        if (extent == null){
-            createInstance();
-        }
-        return  extent;
+    private static class Holder {
+        private static final ReportEventLog EVENT_LOG = createEventLog();
     }
 
     /**
-     * Creates a new ExtentReports instance and configures the Spark Reporter.
-     * The report will be generated in the "test-output/ExtentReports" directory.
+     * Returns the suite's append-only report event log, creating it on first use.
+     * @return ReportEventLog instance.
      */
+    public static ReportEventLog getEventLog(){
+        return Holder.EVENT_LOG;
+    }
 
-    private static synchronized void createInstance(){
-        //Create the directory if it doesn't exist
-        File reportDir = new File(System.getProperty("user.dir")+ "test-output/ExtentReports");
-        if (!reportDir.exists()){
-            reportDir.mkdirs();
-        }
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFilePath);
-        sparkReporter.config().setTheme(Theme.DARK); // Use DARK theme for better readability
-        sparkReporter.config().setDocumentTitle("XYZ Bank Automation Report"); // Set report title
-        sparkReporter.config().setReportName("Test Automation Results"); // Set report name
-        sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss"); // Timestamp format
+    /**
+     * Creates the event log in the "test-output/ExtentReports" directory and registers
+     * a shutdown hook so a run that exits abnormally still renders what it recorded.
+     */
+    private static ReportEventLog createEventLog(){
+        ReportEventLog eventLog = new ReportEventLog(eventFilePath);
+        Runtime.getRuntime().addShutdownHook(new Thread(ExtentManager::flushReport, "report-shutdown-render"));
 
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        long intervalSeconds = Long.getLong("report.renderIntervalSeconds", 0);
+        if (intervalSeconds > 0) {
+            periodicRenderer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "report-renderer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            periodicRenderer.scheduleWithFixedDelay(ExtentManager::flushReport, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+        return eventLog;
+    }
 
-        // Add system information to the report
-        extent.setSystemInfo("Host Name", "Localhost");
-        extent.setSystemInfo("Environment", "QA");
-        extent.setSystemInfo("User Name", System.getProperty("user.name"));
-        extent.setSystemInfo("OS", System.getProperty("os.name"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("Selenium Version", "4.x"); // Adjust if specific version is known
-        extent.setSystemInfo("TestNG Version", "7.x"); // Adjust if specific version is known
+    /**
+     * Adds an entry to the report's system information panel.
+     */
+    public static void setSystemInfo(String key, String value){
+        getEventLog().systemInfo(key, value);
     }
 
     /**
-     * Flushes the report, writing all test data to the HTML file.
-     * This method should be called once after all tests are finished.
+     * Renders the HTML report from the event log. Called once after all tests are finished,
+     * and optionally every -Dreport.renderIntervalSeconds from a background thread.
      */
-    public static void flushReport(){
-        if (extent != null){
-            extent.flush();
+    public static synchronized void flushReport(){
+        long eventCount = getEventLog().getEventCount();
+        if (eventCount == renderedEventCount){
+            return; // Nothing new since the last render (e.g. shutdown hook after the suite-end flush)
+        }
+        try {
+            ReportRenderer.render(Collections.singletonList(getEventLog().getFile()), reportFilePath);
+            renderedEventCount = eventCount;
+        } catch (IOException | RuntimeException e){
+            log.error("Could not render report " + reportFilePath + ": " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,66 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Sorts test failures into causes, so only failures that can go away on their own are retried.
+ */
+public final class FailureClassifier {
+
+    public enum FailureType {
+        TIMEOUT(true),
+        STALE_ELEMENT(true),
+        CLICK_INTERCEPTED(true),
+        UNEXPECTED_ALERT(true),
+        BROWSER_SESSION(true),
+        ASSERTION(false),
+        OTHER(false);
+
+        private final boolean transientFailure;
+
+        FailureType(boolean transientFailure) {
+            this.transientFailure = transientFailure;
+        }
+
+        /**
+         * @return true if a retry has a realistic chance of passing.
+         */
+        public boolean isTransient() {
+            return transientFailure;
+        }
+    }
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * Classifies a failure by the first recognised exception in its cause chain.
+     * @param throwable The test failure, may be null.
+     * @return The failure type, OTHER if nothing is recognised.
+     */
+    public static FailureType classify(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof AssertionError) {
+                return FailureType.ASSERTION;
+            } else if (t instanceof TimeoutException) {
+                return FailureType.TIMEOUT;
+            } else if (t instanceof StaleElementReferenceException) {
+                return FailureType.STALE_ELEMENT;
+            } else if (t instanceof ElementClickInterceptedException) {
+                return FailureType.CLICK_INTERCEPTED;
+            } else if (t instanceof UnhandledAlertException) {
+                return FailureType.UNEXPECTED_ALERT;
+            } else if (t instanceof NoSuchSessionException || t instanceof SessionNotCreatedException
+                    || t instanceof UnreachableBrowserException) {
+                return FailureType.BROWSER_SESSION;
+            }
+        }
+        return FailureType.OTHER;
+    }
+}
@@ -0,0 +1,109 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-test outcome history persisted across runs in flake-history.properties (see {@link HistoryStore}).
+ * A test that has ever passed only after a retry is considered flaky and gets the full retry allowance.
+ */
+public final class FlakeHistory {
+
+    private static final Logger log = LogManager.getLogger(FlakeHistory.class);
+    private static final Path FILE = HistoryStore.file("flake-history.properties");
+    private static final String[] COUNTERS = {"runs", "failures", "flakyPasses", "retries"};
+
+    // Counters from previous runs, and what this run adds on top; only the latter is written back
+    private static final Map<String, Stats> previous = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> currentRun = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            Properties properties = HistoryStore.load(FILE);
+            for (String key : properties.stringPropertyNames()) {
+                int dot = key.lastIndexOf('.');
+                previous.computeIfAbsent(key.substring(0, dot), k -> new Stats())
+                        .add(key.substring(dot + 1), Integer.parseInt(properties.getProperty(key)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read flake history: " + e.getMessage());
+        }
+    }
+
+    private FlakeHistory() {
+    }
+
+    /**
+     * Records the final outcome of a test (after any retries).
+     * @param testName Qualified test name.
+     * @param passed Whether the last attempt passed.
+     * @param retries How many times the test was retried in this run.
+     */
+    public static void record(String testName, boolean passed, int retries) {
+        Stats s = currentRun.computeIfAbsent(testName, k -> new Stats());
+        s.add("runs", 1);
+        s.add("retries", retries);
+        if (!passed) {
+            s.add("failures", 1);
+        } else if (retries > 0) {
+            s.add("flakyPasses", 1);
+        }
+    }
+
+    /**
+     * @return Share of runs that needed a retry to pass, 0..1.
+     */
+    public static double flakeRate(String testName) {
+        int runs = get(testName, "runs");
+        return runs == 0 ? 0 : (double) get(testName, "flakyPasses") / runs;
+    }
+
+    public static void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        try {
+            HistoryStore.update(FILE, "Per-test flake history, updated at the end of every run", properties ->
+                    currentRun.forEach((test, s) -> {
+                        for (String counter : COUNTERS) {
+                            String key = test + "." + counter;
+                            int stored = Integer.parseInt(properties.getProperty(key, "0"));
+                            properties.setProperty(key, String.valueOf(stored + s.get(counter)));
+                        }
+                    }));
+            currentRun.forEach((test, s) -> {
+                Stats merged = previous.computeIfAbsent(test, k -> new Stats());
+                for (String counter : COUNTERS) {
+                    merged.add(counter, s.get(counter));
+                }
+            });
+            currentRun.clear();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not save flake history: " + e.getMessage());
+        }
+    }
+
+    private static int get(String testName, String counter) {
+        Stats before = previous.get(testName);
+        Stats now = currentRun.get(testName);
+        return (before == null ? 0 : before.get(counter)) + (now == null ? 0 : now.get(counter));
+    }
+
+    private static final class Stats {
+        private final Map<String, Integer> counters = new ConcurrentHashMap<>();
+
+        void add(String counter, int value) {
+            counters.merge(counter, value, Integer::sum);
+        }
+
+        int get(String counter) {
+            return counters.getOrDefault(counter, 0);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.globalsqa.bank.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Properties files under the run history directory (-Dhistory.dir, default test-output/history).
+ * Updates are read-modify-write under a file lock, so sharded JVMs sharing one history
+ * directory merge their results instead of overwriting each other.
+ */
+final class HistoryStore {
+
+    private static final Path DIR = Paths.get(System.getProperty("history.dir",
+            Paths.get(System.getProperty("user.dir"), "test-output", "history").toString()));
+
+    private HistoryStore() {
+    }
+
+    static Path file(String name) {
+        return DIR.resolve(name);
+    }
+
+    /**
+     * @return The file's properties, empty if it does not exist yet.
+     */
+    static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Re-reads the file, applies the update and writes it back while holding an exclusive lock.
+     * @param file History file.
+     * @param comment Header comment of the written file.
+     * @param update Merges this JVM's results into the current file contents.
+     */
+    static void update(Path file, String comment, Consumer<Properties> update) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Properties properties = load(file);
+            update.accept(properties);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, comment);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.globalsqa.bank.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory model of one bank account as the customer screens should show it: the balance,
+ * the transaction history in order and which view the customer is on. Each transition returns
+ * what the app is expected to do, so {@link BankModelRunner} can compare after every step.
+ *
+ * Amounts are exact decimals, so any rounding in the app's own arithmetic shows up as a mismatch.
+ */
+public final class LedgerModel {
+
+    /**
+     * The customer views the actions move between.
+     */
+    public enum View { ACCOUNT, TRANSACTIONS }
+
+    /**
+     * What the app should do with a deposit or withdrawal.
+     */
+    public enum Result {
+        /** Booked, with a success message. */
+        APPLIED,
+        /** Submitted but refused by the app ("Transaction Failed"), nothing booked. */
+        REFUSED,
+        /** Blocked by the browser's form validation: no message, nothing booked. */
+        NOT_SUBMITTED
+    }
+
+    /**
+     * One row of the transaction history.
+     */
+    public static final class Entry {
+        private final BigDecimal amount;
+        private final String type;
+
+        private Entry(BigDecimal amount, String type) {
+            this.amount = amount;
+            this.type = type;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        /**
+         * @return "Credit" or "Debit", as the transactions table shows it.
+         */
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return amount.toPlainString() + " " + type;
+        }
+    }
+
+    private BigDecimal balance = BigDecimal.ZERO;
+    private final List<Entry> history = new ArrayList<>();
+    private View view = View.ACCOUNT;
+
+    /**
+     * The amount field is an {@code <input type="number">} without a step attribute, so the browser
+     * only submits positive whole numbers; anything else fails its validation.
+     * @return true if the form submits the amount.
+     */
+    public static boolean isSubmittable(BigDecimal amount) {
+        return amount.signum() > 0 && amount.stripTrailingZeros().scale() <= 0;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public List<Entry> getHistory() {
+        return Collections.unmodifiableList(history);
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    public Result deposit(BigDecimal amount) {
+        if (!isSubmittable(amount)) {
+            return Result.NOT_SUBMITTED;
+        }
+        balance = balance.add(amount);
+        history.add(new Entry(amount, "Credit"));
+        return Result.APPLIED;
+    }
+
+    /**
+     * @return REFUSED if the amount exceeds the balance; the app then reports it and nothing changes.
+     */
+    public Result withdraw(BigDecimal amount) {
+        if (!isSubmittable(amount)) {
+            return Result.NOT_SUBMITTED;
+        }
+        if (amount.compareTo(balance) > 0) {
+            return Result.REFUSED;
+        }
+        balance = balance.subtract(amount);
+        history.add(new Entry(amount, "Debit"));
+        return Result.APPLIED;
+    }
+
+    public void openTransactions() {
+        view = View.TRANSACTIONS;
+    }
+
+    /**
+     * Clears the history. The balance is kept: reset only removes the transaction records.
+     */
+    public void reset() {
+        history.clear();
+    }
+
+    public void back() {
+        view = View.ACCOUNT;
+    }
+}
@@ -0,0 +1,141 @@
+package com.globalsqa.bank.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server that serves the vendored XYZ Bank app (src/test/resources/bank-app)
+ * and its AngularJS webjar from the classpath, so runs need no internet access.
+ *
+ * Select it with {@code -Dbank.target=local}; {@code -Dbank.server.port} picks the port
+ * (default 0, any free port). The app is mounted under the same path as the hosted one.
+ */
+public final class LocalBankServer {
+
+    private static final Logger log = LogManager.getLogger(LocalBankServer.class);
+
+    public static final String REMOTE_LOGIN_URL = "https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login";
+    private static final String APP_PATH = "/angularJs-protractor/BankingProject/";
+    private static final String APP_RESOURCES = "bank-app/";
+    private static final String WEBJARS_PATH = "/webjars/";
+    private static final String WEBJARS_RESOURCES = "META-INF/resources/webjars/";
+
+    private static final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private LocalBankServer() {
+    }
+
+    /**
+     * @return true if this run targets the local stand-in instead of globalsqa.com.
+     */
+    public static boolean isEnabled() {
+        return "local".equalsIgnoreCase(System.getProperty("bank.target", "remote"));
+    }
+
+    /**
+     * Login page URL of the application under test, starting the local server on first use
+     * when it is enabled.
+     * @return The URL tests should navigate to.
+     */
+    public static String loginUrl() {
+        if (!isEnabled()) {
+            return REMOTE_LOGIN_URL;
+        }
+        return "http://localhost:" + start() + APP_PATH + "#/login";
+    }
+
+    /**
+     * Starts the server if it is not running yet.
+     * @return The port it listens on.
+     */
+    public static synchronized int start() {
+        if (server == null) {
+            try {
+                int port = Integer.getInteger("bank.server.port", 0);
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start local bank server", e);
+            }
+            server.createContext(APP_PATH, exchange -> serve(exchange, APP_PATH, APP_RESOURCES));
+            server.createContext(WEBJARS_PATH, exchange -> serve(exchange, WEBJARS_PATH, WEBJARS_RESOURCES));
+            executor = Executors.newFixedThreadPool(4);
+            server.setExecutor(executor);
+            server.start();
+            log.info("Local bank server listening on port " + server.getAddress().getPort());
+        }
+        return server.getAddress().getPort();
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("Local bank server stopped.");
+        }
+    }
+
+    private static void serve(HttpExchange exchange, String contextPath, String resourceRoot) throws IOException {
+        try (exchange) {
+            String relative = exchange.getRequestURI().getPath().substring(contextPath.length());
+            if (relative.isEmpty()) {
+                relative = "index.html";
+            }
+            Optional<byte[]> body = relative.contains("..") ? Optional.empty() : load(resourceRoot + relative);
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(relative));
+            exchange.sendResponseHeaders(200, body.get().length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body.get());
+            }
+        }
+    }
+
+    private static Optional<byte[]> load(String resource) {
+        byte[] cached = cache.get(resource);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try (InputStream in = LocalBankServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return Optional.empty();
+            }
+            byte[] bytes = in.readAllBytes();
+            cache.put(resource, bytes);
+            return Optional.of(bytes);
+        } catch (IOException e) {
+            log.error("Could not read " + resource + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        } else if (path.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        } else if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "application/octet-stream";
+    }
+}
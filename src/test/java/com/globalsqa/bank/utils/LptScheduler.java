@@ -0,0 +1,126 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IConfigurationListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Orders each &lt;test&gt;'s methods longest-processing-time-first from {@link DurationHistory}.
+ * With parallel="methods" TestNG hands a &lt;test&gt;'s methods to its free threads in the intercepted order
+ * (it takes precedence over @Test priority), so this is greedy LPT scheduling: the long
+ * customer tests start first and the short ones fill the gaps at the end.
+ *
+ * Methods without history are estimated at the mean of the known ones. Durations of this
+ * run (test plus fixtures, per browser) are recorded here and saved by {@link SuiteListener}.
+ */
+public class LptScheduler implements IMethodInterceptor, ITestListener, IConfigurationListener {
+
+    private static final Logger log = LogManager.getLogger(LptScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        long known = 0;
+        long knownTotal = 0;
+        for (IMethodInstance method : methods) {
+            long estimate = DurationHistory.estimate(key(method.getMethod(), context));
+            if (estimate >= 0) {
+                known++;
+                knownTotal += estimate;
+            }
+        }
+        long fallback = known == 0 ? 0 : knownTotal / known;
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance method) -> estimate(method, context, fallback)).reversed());
+
+        int threads = context.getCurrentXmlTest().getThreadCount();
+        log.info("Scheduled " + ordered.size() + " methods of '" + context.getName() + "' longest first ("
+                + known + " with history), predicted makespan " + makespan(ordered, context, fallback, threads) + " ms on " + threads + " threads");
+        return ordered;
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result, ITestNGMethod testMethod) {
+        recordFixture(result, testMethod);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result, ITestNGMethod testMethod) {
+        recordFixture(result, testMethod);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, result.getMethod());
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, result.getMethod());
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, result.getMethod());
+    }
+
+    private static void recordFixture(ITestResult result, ITestNGMethod testMethod) {
+        // Only per-method fixtures belong to a test; suite/class level setup is shared
+        if (testMethod != null) {
+            record(result, testMethod);
+        }
+    }
+
+    private static void record(ITestResult result, ITestNGMethod method) {
+        DurationHistory.record(key(method, result.getTestContext()), result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static long estimate(IMethodInstance method, ITestContext context, long fallback) {
+        long estimate = DurationHistory.estimate(key(method.getMethod(), context));
+        return estimate >= 0 ? estimate : fallback;
+    }
+
+    /**
+     * Simulates handing the ordered methods to the first free thread.
+     */
+    private static long makespan(List<IMethodInstance> ordered, ITestContext context, long fallback, int threads) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            finishTimes.add(0L);
+        }
+        for (IMethodInstance method : ordered) {
+            finishTimes.add(finishTimes.poll() + estimate(method, context, fallback));
+        }
+        long makespan = 0;
+        for (long finish : finishTimes) {
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    private static String key(ITestNGMethod method, ITestContext context) {
+        return key(method.getRealClass().getSimpleName(), method.getMethodName(), context.getCurrentXmlTest().getParameter("browser"));
+    }
+
+    /**
+     * Durations differ per browser, so the key is "Class.method[browser]".
+     * @param simpleClassName Test class without package.
+     * @param methodName Test method.
+     * @param browser The &lt;test&gt;'s browser parameter, may be null.
+     * @return The {@link DurationHistory} key.
+     */
+    static String key(String simpleClassName, String methodName, String browser) {
+        return simpleClassName + "." + methodName + "[" + (browser == null ? "chrome" : browser) + "]";
+    }
+}
@@ -0,0 +1,295 @@
+package com.globalsqa.bank.utils;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the banking app itself while the tests drive it. With -Dperf.capture=true the page objects
+ * call {@link #capture(WebDriver, String)} after navigation and after key actions; one script call
+ * harvests what the browser recorded since the previous capture in that document:
+ *
+ * ttfb, domContentLoaded, load: Navigation Timing of the document, reported once per page load.
+ * resourceMax: the slowest resource (Resource Timing) fetched since the previous capture.
+ * longTasks: total duration of main-thread tasks over 50 ms since the previous capture
+ * (Long Tasks API, Chromium only; not reported elsewhere).
+ *
+ * Samples are kept per step and metric over the whole run (a few per test, so the raw values are
+ * kept) and reported with exact p50/p95.
+ * Budgets come from perf-budgets.properties on the classpath, or the file named by -Dperf.budgets,
+ * as {@code <step>.<metric>=<ms>}, with {@code *} as the step for a default. A sample over budget
+ * is logged as a warning, or fails the test with -Dperf.budget.mode=fail.
+ */
+public final class PagePerformance {
+
+    public enum BudgetMode { WARN, FAIL }
+
+    private static final Logger log = LogManager.getLogger(PagePerformance.class);
+
+    private static final boolean ENABLED = Boolean.getBoolean("perf.capture");
+    private static final BudgetMode MODE = BudgetMode.valueOf(System.getProperty("perf.budget.mode", "warn").trim().toUpperCase());
+    private static final String[] METRICS = {"ttfb", "domContentLoaded", "load", "resourceMax", "longTasks"};
+
+    private static final String HARVEST_SCRIPT =
+            "var perf = window.performance;" +
+            "if (!perf || !perf.getEntriesByType) { return null; }" +
+            "var state = window.__perfHarvest;" +
+            "if (!state) {" +
+            "  state = window.__perfHarvest = {resourceCursor: 0, navigationReported: false, longTasks: 0, longTaskSupported: false};" +
+            "  try {" +
+            "    new PerformanceObserver(function(list) {" +
+            "      list.getEntries().forEach(function(entry) { state.longTasks += entry.duration; });" +
+            "    }).observe({type: 'longtask', buffered: true});" +
+            "    state.longTaskSupported = true;" +
+            "  } catch (e) { }" +
+            "}" +
+            "var result = {};" +
+            "if (!state.navigationReported) {" +
+            "  var nav = perf.getEntriesByType('navigation')[0];" +
+            "  if (nav && nav.loadEventEnd > 0) {" +
+            "    result.ttfb = nav.responseStart - nav.startTime;" +
+            "    result.domContentLoaded = nav.domContentLoadedEventEnd - nav.startTime;" +
+            "    result.load = nav.loadEventEnd - nav.startTime;" +
+            "    state.navigationReported = true;" +
+            "  }" +
+            "}" +
+            "var resources = perf.getEntriesByType('resource');" +
+            "if (resources.length > state.resourceCursor) {" +
+            "  var max = 0;" +
+            "  for (var i = state.resourceCursor; i < resources.length; i++) { max = Math.max(max, resources[i].duration); }" +
+            "  result.resourceMax = max;" +
+            "}" +
+            "state.resourceCursor = resources.length;" +
+            "if (state.longTaskSupported) { result.longTasks = state.longTasks; state.longTasks = 0; }" +
+            "return result;";
+
+    private static final Properties budgets = loadBudgets();
+    private static final Map<String, Map<String, Samples>> samples = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> overBudget = new ConcurrentHashMap<>();
+
+    private PagePerformance() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Harvests the browser's performance entries for a step and checks them against the budgets.
+     * Does nothing unless -Dperf.capture=true.
+     * @param driver The WebDriver on the banking app.
+     * @param step Step name, e.g. "account.submit".
+     * @throws AssertionError If a budget is exceeded and the budget mode is FAIL.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String step) {
+        if (!ENABLED) {
+            return;
+        }
+        Map<String, Object> entries;
+        try {
+            entries = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(HARVEST_SCRIPT);
+        } catch (WebDriverException e) {
+            log.warn("Could not read performance entries for " + step + ": " + e.getMessage());
+            return;
+        }
+        if (entries == null) {
+            return;
+        }
+        List<String> violations = new ArrayList<>();
+        for (String metric : METRICS) {
+            Object value = entries.get(metric);
+            if (!(value instanceof Number)) {
+                continue;
+            }
+            double millis = ((Number) value).doubleValue();
+            samples.computeIfAbsent(step, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(metric, k -> new Samples()).add(millis);
+            double budget = budget(step, metric);
+            if (budget >= 0 && millis > budget) {
+                overBudget.computeIfAbsent(step + "." + metric, k -> new AtomicLong()).incrementAndGet();
+                violations.add(String.format("%s %s %.0f ms > %.0f ms", step, metric, millis, budget));
+            }
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Page performance budget exceeded: " + String.join(", ", violations);
+        if (MODE == BudgetMode.FAIL) {
+            throw new AssertionError(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Writes the per-step aggregates and budget overruns as JSON.
+     * @param file Target file; parent directories are created.
+     */
+    public static void writeJson(Path file) {
+        Map<String, Object> report = new TreeMap<>();
+        samples.forEach((step, metrics) -> {
+            Map<String, Object> byMetric = new TreeMap<>();
+            metrics.forEach((metric, values) -> {
+                Map<String, Object> stats = values.toMap();
+                double budget = budget(step, metric);
+                if (budget >= 0) {
+                    stats.put("budgetMs", budget);
+                    AtomicLong over = overBudget.get(step + "." + metric);
+                    stats.put("overBudget", over == null ? 0 : over.get());
+                }
+                byMetric.put(metric, stats);
+            });
+            report.put(step, byMetric);
+        });
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Page performance written to " + file);
+        } catch (IOException e) {
+            log.error("Could not write page performance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Default location of the machine-readable page performance file.
+     */
+    public static Path defaultReportFile() {
+        return Paths.get(System.getProperty("user.dir"), "test-output", "metrics", "page-performance.json");
+    }
+
+    /**
+     * Adds a "Page Performance" entry with p50/p95 per step and metric to the report;
+     * it is marked WARNING if any sample was over budget.
+     */
+    public static void report(ReportEventLog events) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Step", "Metric", "Samples", "p50 ms", "p95 ms", "Max ms", "Budget ms", "Over budget"});
+        new TreeMap<>(samples).forEach((step, metrics) -> {
+            for (String metric : METRICS) {
+                Samples h = metrics.get(metric);
+                if (h == null) {
+                    continue;
+                }
+                double budget = budget(step, metric);
+                AtomicLong over = overBudget.get(step + "." + metric);
+                rows.add(new String[]{step, metric, String.valueOf(h.count()), String.format("%.0f", h.percentile(50)),
+                        String.format("%.0f", h.percentile(95)), String.format("%.0f", h.max()),
+                        budget >= 0 ? String.format("%.0f", budget) : "-", String.valueOf(over == null ? 0 : over.get())});
+            }
+        });
+        String testId = events.testStarted("Page Performance", "Metrics");
+        events.log(testId, Status.INFO.name(), MarkupHelper.createTable(rows.toArray(new String[0][])).getMarkup());
+        events.testFinished(testId, overBudget.isEmpty() ? Status.PASS.name() : Status.WARNING.name());
+    }
+
+    /**
+     * @return The budget in ms for a step's metric, or -1 if there is none.
+     */
+    private static double budget(String step, String metric) {
+        String value = budgets.getProperty(step + "." + metric, budgets.getProperty("*." + metric));
+        return value == null ? -1 : Double.parseDouble(value.trim());
+    }
+
+    private static Properties loadBudgets() {
+        Properties properties = new Properties();
+        String file = System.getProperty("perf.budgets");
+        try {
+            if (file != null) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            } else {
+                try (InputStream in = PagePerformance.class.getClassLoader().getResourceAsStream("perf-budgets.properties")) {
+                    if (in != null) {
+                        properties.load(in);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read performance budgets: " + e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * Raw samples of one step's metric, in ms. Percentiles are exact (nearest rank), unlike
+     * {@link LatencyHistogram}'s power-of-two buckets, which are too coarse to compare with budgets.
+     */
+    private static final class Samples {
+        private double[] values = new double[16];
+        private int count;
+
+        synchronized void add(double millis) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = millis;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        /**
+         * @param percentile Value between 0 and 100.
+         * @return The smallest sample with at least that share of the samples at or below it.
+         */
+        synchronized double percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        synchronized double max() {
+            return percentile(100);
+        }
+
+        synchronized Map<String, Object> toMap() {
+            double total = 0;
+            for (int i = 0; i < count; i++) {
+                total += values[i];
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("meanMs", round(count == 0 ? 0 : total / count));
+            map.put("p50Ms", round(percentile(50)));
+            map.put("p95Ms", round(percentile(95)));
+            map.put("p99Ms", round(percentile(99)));
+            map.put("maxMs", round(max()));
+            return map;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpCommandCodec;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A WebDriver without a browser: every command is answered from a {@link WireTrace}.
+ *
+ * Commands are encoded exactly as a real session would send them and looked up by method, path
+ * and body. Identical commands are answered in recorded order, so a poll that saw "not yet" twice
+ * before "done" replays the same way; once a command's responses are used up the last one is
+ * repeated (a wait that polls once more than during recording still ends). A command that was
+ * never recorded fails with a WebDriverException: the test has diverged from its trace.
+ */
+public class ReplayDriver extends RemoteWebDriver {
+
+    ReplayDriver(WireTrace trace) {
+        super(new ReplayExecutor(trace), new ImmutableCapabilities("browserName", "replay"));
+    }
+
+    private static final class ReplayExecutor implements CommandExecutor {
+
+        private static final SessionId SESSION = new SessionId("replay");
+
+        private final W3CHttpCommandCodec commandCodec = new W3CHttpCommandCodec();
+        private final W3CHttpResponseCodec responseCodec = new W3CHttpResponseCodec();
+        private final Map<String, Deque<WireTrace.Exchange>> pending = new HashMap<>();
+        private final Map<String, WireTrace.Exchange> last = new HashMap<>();
+
+        private ReplayExecutor(WireTrace trace) {
+            for (WireTrace.Exchange exchange : trace.exchanges()) {
+                pending.computeIfAbsent(exchange.key, k -> new ArrayDeque<>()).add(exchange);
+            }
+        }
+
+        @Override
+        public synchronized Response execute(Command command) {
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                Response response = new Response(SESSION);
+                response.setState("success");
+                response.setValue(new ImmutableCapabilities("browserName", "replay").asMap());
+                return response;
+            }
+            if (DriverCommand.QUIT.equals(command.getName())) {
+                Response response = new Response(SESSION);
+                response.setState("success");
+                return response;
+            }
+            HttpRequest request = commandCodec.encode(command);
+            String key = WireTrace.key(request.getMethod().name(), WireTrace.normalizePath(request.getUri()),
+                    WireTrace.canonicalJson(Contents.string(request)));
+            WireTrace.Exchange exchange = next(key);
+            HttpResponse response = new HttpResponse()
+                    .setStatus(exchange.status)
+                    .setHeader("Content-Type", "application/json; charset=utf-8")
+                    .setContent(Contents.utf8String(WireTrace.withLocalPort(exchange.response)));
+            Response decoded = responseCodec.decode(response);
+            decoded.setSessionId(SESSION.toString());
+            return decoded;
+        }
+
+        private WireTrace.Exchange next(String key) {
+            Deque<WireTrace.Exchange> queue = pending.get(key);
+            WireTrace.Exchange exchange = queue == null ? null : queue.poll();
+            if (exchange != null) {
+                last.put(key, exchange);
+                return exchange;
+            }
+            exchange = last.get(key);
+            if (exchange == null) {
+                throw new WebDriverException("Command not in the recorded trace: " + key);
+            }
+            return exchange;
+        }
+    }
+}
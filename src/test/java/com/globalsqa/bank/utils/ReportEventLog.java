@@ -0,0 +1,152 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only report event log: one JSON object per line, flushed as each event is written.
+ * Listeners record test starts, log lines, screenshots and results here as they happen;
+ * {@link ReportRenderer} turns the log into the Extent HTML report. Nothing accumulates in
+ * memory during the run, and a JVM that dies mid-suite leaves every event up to that point on disk.
+ */
+public final class ReportEventLog {
+
+    public static final String TEST_STARTED = "testStarted";
+    public static final String LOG = "log";
+    public static final String SCREENSHOT = "screenshot";
+    public static final String TEST_FINISHED = "testFinished";
+    public static final String SYSTEM_INFO = "systemInfo";
+
+    private static final Json JSON = new Json();
+    private static final AtomicLong testIds = new AtomicLong();
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final AtomicLong eventCount = new AtomicLong();
+
+    public ReportEventLog(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.getParent());
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open report event log " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Number of events appended by this JVM so far.
+     */
+    public long getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Records the start of a test.
+     * @param name Test name shown in the report.
+     * @param category Grouping shown in the report (e.g. the TestNG test name), may be null.
+     * @return Id used to attach later events to this test.
+     */
+    public String testStarted(String name, String category) {
+        String testId = String.valueOf(testIds.incrementAndGet());
+        Map<String, Object> event = event(TEST_STARTED, testId);
+        event.put("name", name);
+        if (category != null) {
+            event.put("category", category);
+        }
+        append(event);
+        return testId;
+    }
+
+    /**
+     * Records a log line for a test. The details may contain HTML markup.
+     */
+    public void log(String testId, String status, String details) {
+        Map<String, Object> event = event(LOG, testId);
+        event.put("status", status);
+        event.put("details", details);
+        append(event);
+    }
+
+    public void screenshot(String testId, String status, String path) {
+        Map<String, Object> event = event(SCREENSHOT, testId);
+        event.put("status", status);
+        event.put("path", path);
+        append(event);
+    }
+
+    public void testFinished(String testId, String status) {
+        Map<String, Object> event = event(TEST_FINISHED, testId);
+        event.put("status", status);
+        append(event);
+    }
+
+    public void systemInfo(String key, String value) {
+        Map<String, Object> event = event(SYSTEM_INFO, null);
+        event.put("key", key);
+        event.put("value", value);
+        append(event);
+    }
+
+    /**
+     * Reads every complete event of a log file. A truncated last line (crash mid-write) is ignored.
+     * @param file The event log.
+     * @return Events in the order they were written.
+     */
+    public static List<Map<String, Object>> readAll(Path file) throws IOException {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                events.add(JSON.toType(line, Json.MAP_TYPE));
+            } catch (RuntimeException e) {
+                break;
+            }
+        }
+        return events;
+    }
+
+    private static Map<String, Object> event(String type, String testId) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", System.currentTimeMillis());
+        if (testId != null) {
+            event.put("testId", testId);
+        }
+        return event;
+    }
+
+    private synchronized void append(Map<String, Object> event) {
+        try {
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput output = JSON.newOutput(line)) {
+                output.setPrettyPrint(false).write(event);
+            }
+            writer.write(line.toString());
+            writer.newLine();
+            writer.flush();
+            eventCount.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to report event log " + file, e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.globalsqa.bank.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Builds the Extent HTML report from one or more {@link ReportEventLog} files.
+ * Rendering happens once at suite end (or periodically off-thread), never per test.
+ *
+ * Can also be run on its own to recover a report from the event log of a crashed run:
+ * {@code java ... com.globalsqa.bank.utils.ReportRenderer report.html events1.jsonl [events2.jsonl ...]}
+ */
+public final class ReportRenderer {
+
+    private ReportRenderer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportRenderer <report.html> <events.jsonl>...");
+            System.exit(2);
+        }
+        List<Path> eventFiles = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            eventFiles.add(Paths.get(args[i]));
+        }
+        render(eventFiles, Paths.get(args[0]));
+    }
+
+    /**
+     * Replays the event logs into a fresh ExtentReports instance and writes the HTML file.
+     * Tests from different files are kept apart even if their ids collide.
+     * @param eventFiles Event logs, in the order their tests should appear.
+     * @param htmlFile Target report file.
+     */
+    public static void render(List<Path> eventFiles, Path htmlFile) throws IOException {
+        render(eventFiles, htmlFile, UnaryOperator.identity());
+    }
+
+    /**
+     * Same as {@link #render(List, Path)}, for event logs whose screenshots have since been moved.
+     * @param screenshotPaths Maps a recorded screenshot path to where the file is now.
+     */
+    public static void render(List<Path> eventFiles, Path htmlFile, UnaryOperator<String> screenshotPaths) throws IOException {
+        Files.createDirectories(htmlFile.getParent());
+        ExtentReports extent = createReports(htmlFile);
+
+        for (int fileIndex = 0; fileIndex < eventFiles.size(); fileIndex++) {
+            Path eventFile = eventFiles.get(fileIndex);
+            if (!Files.exists(eventFile)) {
+                continue;
+            }
+            Map<String, ExtentTest> tests = new HashMap<>();
+            for (Map<String, Object> event : ReportEventLog.readAll(eventFile)) {
+                apply(extent, tests, fileIndex + ":" + event.get("testId"), event, screenshotPaths);
+            }
+        }
+        extent.flush();
+    }
+
+    private static void apply(ExtentReports extent, Map<String, ExtentTest> tests, String testKey, Map<String, Object> event,
+                              UnaryOperator<String> screenshotPaths) throws IOException {
+        String type = (String) event.get("type");
+        Date time = new Date(((Number) event.get("time")).longValue());
+        if (ReportEventLog.SYSTEM_INFO.equals(type)) {
+            extent.setSystemInfo((String) event.get("key"), (String) event.get("value"));
+            return;
+        }
+        if (ReportEventLog.TEST_STARTED.equals(type)) {
+            ExtentTest test = extent.createTest((String) event.get("name"));
+            if (event.get("category") != null) {
+                test.assignCategory((String) event.get("category"));
+            }
+            test.getModel().setStartTime(time);
+            tests.put(testKey, test);
+            return;
+        }
+        ExtentTest test = tests.get(testKey);
+        if (test == null) {
+            return;
+        }
+        Status status = event.get("status") == null ? Status.INFO : Status.valueOf((String) event.get("status"));
+        switch (type) {
+            case ReportEventLog.LOG:
+                test.log(status, (String) event.get("details"));
+                break;
+            case ReportEventLog.SCREENSHOT:
+                test.log(status, "Screenshot:", MediaEntityBuilder.createScreenCaptureFromPath(screenshotPaths.apply((String) event.get("path"))).build());
+                break;
+            case ReportEventLog.TEST_FINISHED:
+                test.getModel().setEndTime(time);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static ExtentReports createReports(Path htmlFile) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(htmlFile.toString());
+        sparkReporter.config().setTheme(Theme.DARK); // Use DARK theme for better readability
+        sparkReporter.config().setDocumentTitle("XYZ Bank Automation Report"); // Set report title
+        sparkReporter.config().setReportName("Test Automation Results"); // Set report name
+        sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss"); // Timestamp format
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+
+        // Add system information to the report
+        extent.setSystemInfo("Host Name", "Localhost");
+        extent.setSystemInfo("Environment", "QA");
+        extent.setSystemInfo("User Name", System.getProperty("user.name"));
+        extent.setSystemInfo("OS", System.getProperty("os.name"));
+        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+        extent.setSystemInfo("Selenium Version", "4.x"); // Adjust if specific version is known
+        extent.setSystemInfo("TestNG Version", "7.x"); // Adjust if specific version is known
+        return extent;
+    }
+}
@@ -1,20 +1,76 @@
 package com.globalsqa.bank.utils;
 
+import com.globalsqa.bank.utils.FailureClassifier.FailureType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries a failed test only when the failure is transient (timeouts, stale elements,
+ * lost sessions, ...). Assertion failures and unknown errors fail immediately.
+ *
+ * Tests with a flake history get up to -Dretry.max attempts (default 3), others one.
+ * All retries of the suite share a time budget of -Dretry.budgetSeconds (default 300),
+ * charged with the duration of each failed attempt.
+ */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
+    public static final String RETRY_CAUSE = "retry.cause";
+    public static final String RETRY_COST_MILLIS = "retry.costMillis";
+
+    private static final Logger log = LogManager.getLogger(RetryAnalyzer.class);
+    private static final int MAX_RETRY_COUNT = Integer.getInteger("retry.max", 3);
+    private static final AtomicLong budgetMillis = new AtomicLong(Long.getLong("retry.budgetSeconds", 300) * 1000);
+
     private int retryCount = 0;
-    private static final int MAX_RETRY_COUNT = 3;
 
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            System.out.println("Retrying test " + result.getName() + " for the " + (retryCount + 1) + " time.");
-            retryCount++;
-            return true;
+        FailureType failure = FailureClassifier.classify(result.getThrowable());
+        String testName = qualifiedName(result);
+        if (!failure.isTransient()) {
+            log.info("Not retrying " + testName + ": " + failure + " failures are not transient.");
+            return false;
+        }
+
+        int allowed = FlakeHistory.flakeRate(testName) > 0 ? MAX_RETRY_COUNT : Math.min(1, MAX_RETRY_COUNT);
+        if (retryCount >= allowed) {
+            return false;
+        }
+
+        long cost = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        if (budgetMillis.addAndGet(-cost) < 0) {
+            budgetMillis.addAndGet(cost);
+            log.warn("Not retrying " + testName + ": suite retry budget exhausted.");
+            return false;
         }
-        return false;
+
+        retryCount++;
+        result.setAttribute(RETRY_CAUSE, failure.name());
+        result.setAttribute(RETRY_COST_MILLIS, cost);
+        log.info("Retrying test " + result.getName() + " for the " + retryCount + " time after a " + failure
+                + " failure (" + String.format("%.1f", cost / 1000.0) + " s spent on the failed attempt).");
+        return true;
+    }
+
+    /**
+     * @return How often this analyzer's test has been retried in this run.
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * @return Remaining suite-wide retry budget.
+     */
+    public static long getRemainingBudgetMillis() {
+        return budgetMillis.get();
+    }
+
+    static String qualifiedName(ITestResult result) {
+        return result.getMethod().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
     }
 }
@@ -0,0 +1,27 @@
+package com.globalsqa.bank.utils;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Feeds final test outcomes into {@link FlakeHistory}. Attempts that were retried are
+ * reported by TestNG as skips and are not final, so they are ignored here.
+ */
+public class RetryListener implements ITestListener {
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        FlakeHistory.record(RetryAnalyzer.qualifiedName(result), true, retryCount(result));
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        FlakeHistory.record(RetryAnalyzer.qualifiedName(result), false, retryCount(result));
+    }
+
+    private static int retryCount(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof RetryAnalyzer ? ((RetryAnalyzer) analyzer).getRetryCount() : 0;
+    }
+}
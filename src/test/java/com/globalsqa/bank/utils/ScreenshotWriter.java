@@ -0,0 +1,114 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes failure screenshots on a bounded background executor so the test thread only
+ * pays for grabbing the PNG bytes. When the queue is full the submitting thread writes
+ * the image itself (back-pressure instead of unbounded memory).
+ *
+ * Options: -Dscreenshot.scale (0..1, default 1 = no resize),
+ * -Dscreenshot.format ("png" default, or "jpg" for smaller files).
+ */
+public final class ScreenshotWriter {
+
+    private static final Logger log = LogManager.getLogger(ScreenshotWriter.class);
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("screenshot.scale", "1"));
+    private static final String FORMAT = System.getProperty("screenshot.format", "png").toLowerCase();
+    private static final int QUEUE_CAPACITY = 32;
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // One party for the flushing thread plus one per screenshot still being written
+    private static final Phaser pending = new Phaser(1);
+
+    private ScreenshotWriter() {
+    }
+
+    /**
+     * Schedules a screenshot to be written under test-output/Screenshots.
+     * @param png Screenshot bytes as returned by the driver.
+     * @param methodName Test method name, used in the file name.
+     * @return Absolute path the file will have once written, for attaching to the report right away.
+     */
+    public static Path submit(byte[] png, String methodName) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        Path target = Paths.get(System.getProperty("user.dir"), "test-output", "Screenshots",
+                methodName + "_" + timestamp + "." + FORMAT);
+        pending.register();
+        executor.execute(() -> {
+            try {
+                write(png, target);
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not write screenshot " + target + ": " + e.getMessage());
+            } finally {
+                pending.arriveAndDeregister();
+            }
+        });
+        return target;
+    }
+
+    /**
+     * Blocks until every screenshot submitted so far is on disk. Called before the report is flushed.
+     * @param timeoutSeconds Maximum time to wait.
+     */
+    public static void awaitPending(long timeoutSeconds) {
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arrive(), timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("Screenshots still being written after " + timeoutSeconds + " s");
+        }
+    }
+
+    private static void write(byte[] png, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        if (SCALE >= 1 && FORMAT.equals("png")) {
+            Files.write(target, png);
+        } else {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            ImageIO.write(resize(image), FORMAT, target.toFile());
+        }
+        log.info("Screenshot saved: " + target);
+    }
+
+    private static BufferedImage resize(BufferedImage source) {
+        double scale = Math.min(1, SCALE);
+        int width = Math.max(1, (int) (source.getWidth() * scale));
+        int height = Math.max(1, (int) (source.getHeight() * scale));
+        // RGB without alpha so the same image can be written as JPEG
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return resized;
+    }
+}
@@ -0,0 +1,144 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a page flow (clicks, form input, reads) inside the page in a single async script call
+ * instead of one WebDriver round trip per step. Each step waits for its element to be visible
+ * and each click for Angular to settle, like the page objects' UI path does. Inputs are set
+ * through the DOM plus input/change events, so Angular's form bindings and validation apply.
+ *
+ * window.alert is captured while the flow runs; the last alert text is returned as "alert".
+ *
+ * Used by the page objects' fast path ({@link ExecutionMode#SCRIPT}).
+ */
+public final class ScriptedFlow {
+
+    private static final long FLOW_TIMEOUT_MILLIS = 10_000;
+
+    private static final String RUNNER_SCRIPT =
+            "var steps = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "var result = {}, originalAlert = window.alert, deadline = Date.now() + timeout;" +
+            "window.alert = function(text) { result.alert = String(text); };" +
+            "function finish(error, timedOut) {" +
+            "  window.alert = originalAlert;" +
+            "  if (error) { result.error = error; result.timedOut = !!timedOut; }" +
+            "  done(result);" +
+            "}" +
+            "function visible(xpath) {" +
+            "  var nodes = document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  for (var i = 0; i < nodes.snapshotLength; i++) {" +
+            "    var node = nodes.snapshotItem(i);" +
+            "    if (node.offsetWidth || node.offsetHeight || node.getClientRects().length) { return node; }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function whenStable(next) {" +
+            "  try {" +
+            "    var root = document.querySelector('[ng-app]') || document.body;" +
+            "    if (window.angular && angular.getTestability) { angular.getTestability(root).whenStable(next); return; }" +
+            "  } catch (e) { }" +
+            "  setTimeout(next, 0);" +
+            "}" +
+            "function run(index) {" +
+            "  if (index === steps.length) { finish(); return; }" +
+            "  var step = steps[index], node = visible(step.xpath);" +
+            "  if (!node) {" +
+            "    if (Date.now() > deadline) { finish('Timed out waiting for ' + step.xpath, true); return; }" +
+            "    setTimeout(function() { run(index); }, 10); return;" +
+            "  }" +
+            "  try {" +
+            "    if (step.action === 'click') {" +
+            "      node.click(); whenStable(function() { run(index + 1); }); return;" +
+            "    } else if (step.action === 'fill') {" +
+            "      if (node.tagName === 'SELECT') {" +
+            "        var option = Array.prototype.filter.call(node.options, function(o) { return o.text.trim() === step.value; })[0];" +
+            "        if (!option) { finish('No option \"' + step.value + '\" in ' + step.xpath); return; }" +
+            "        node.value = option.value;" +
+            "      } else {" +
+            "        node.value = step.value;" +
+            "        node.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "      }" +
+            "      node.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "    } else if (step.action === 'read') {" +
+            "      result[step.name] = node.textContent.trim();" +
+            "    }" +
+            "  } catch (e) { finish(String(e)); return; }" +
+            "  run(index + 1);" +
+            "}" +
+            "run(0);";
+
+    private final WebDriver driver;
+    private final List<Map<String, String>> steps = new ArrayList<>();
+
+    public ScriptedFlow(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Waits for the element to be visible, clicks it and waits for Angular to settle.
+     */
+    public ScriptedFlow click(String xpath) {
+        return step("click", xpath, null, null);
+    }
+
+    /**
+     * Types a value into an input, or selects the option with this visible text in a select.
+     */
+    public ScriptedFlow fill(String xpath, String value) {
+        return step("fill", xpath, value, null);
+    }
+
+    /**
+     * Waits for the element to be visible without touching it.
+     */
+    public ScriptedFlow await(String xpath) {
+        return step("await", xpath, null, null);
+    }
+
+    /**
+     * Stores the element's trimmed text in the result under the given name.
+     */
+    public ScriptedFlow read(String name, String xpath) {
+        return step("read", xpath, null, name);
+    }
+
+    /**
+     * Runs all steps in one script call.
+     * @return Read values by name, plus "alert" if the app raised one.
+     * @throws TimeoutException If a step's element did not become visible in time.
+     * @throws IllegalStateException If a step failed otherwise (e.g. no such option).
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> run() {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(RUNNER_SCRIPT, steps, FLOW_TIMEOUT_MILLIS);
+        if (Boolean.TRUE.equals(result.get("timedOut"))) {
+            throw new TimeoutException("Scripted flow failed: " + result.get("error"));
+        } else if (result.containsKey("error")) {
+            throw new IllegalStateException("Scripted flow failed: " + result.get("error"));
+        }
+        return result;
+    }
+
+    private ScriptedFlow step(String action, String xpath, String value, String name) {
+        Map<String, String> step = new LinkedHashMap<>();
+        step.put("action", action);
+        step.put("xpath", xpath);
+        if (value != null) {
+            step.put("value", value);
+        }
+        if (name != null) {
+            step.put("name", name);
+        }
+        steps.add(step);
+        return this;
+    }
+}
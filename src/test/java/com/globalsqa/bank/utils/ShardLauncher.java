@@ -0,0 +1,343 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the suite of a testng.xml into shards, runs each shard in its own forked JVM and
+ * merges the shards' Extent reports, logs, screenshots and metrics files into test-output.
+ *
+ * Usage: {@code mvn -B -P shards test-compile exec:exec -Dshards=4 -Dshard.strategy=history}
+ * or {@code java -cp <test classpath> com.globalsqa.bank.utils.ShardLauncher [testng.xml]}.
+ *
+ * -Dshards: number of JVMs (default: half the cores).
+ * -Dshard.strategy: class | method | history (default). "history" balances methods by their
+ * recorded durations (see {@link DurationHistory}), the others by method count.
+ * -Dthreads and -Ddriver.pool.size apply per shard (default: cores / shards). Other -D options
+ * given to the launcher are passed on to every shard. Each shard works in test-output/shards/shard-N,
+ * while run history (-Dhistory.dir) stays shared.
+ */
+public final class ShardLauncher {
+
+    private static final Logger log = LogManager.getLogger(ShardLauncher.class);
+
+    public enum Strategy {
+        CLASS, METHOD, HISTORY
+    }
+
+    private static final Path OUTPUT = Paths.get(System.getProperty("user.dir"), "test-output");
+    private static final Path SHARD_ROOT = OUTPUT.resolve("shards");
+    // Set per shard by the launcher, so not forwarded from its own command line
+    private static final Set<String> SHARD_PROPERTIES = Set.of("shards", "shard.strategy", "shard.index", "threads",
+            "driver.pool.size", "retry.budgetSeconds", "history.dir", "bank.server.port");
+
+    private ShardLauncher() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path suiteFile = Paths.get(args.length > 0 ? args[0] : "testng.xml").toAbsolutePath();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int shardCount = Integer.getInteger("shards", 0);
+        if (shardCount <= 0) {
+            shardCount = Math.max(1, cores / 2);
+        }
+        Strategy strategy = Strategy.valueOf(System.getProperty("shard.strategy", "history").trim().toUpperCase());
+        int threads = Integer.getInteger("threads", Math.max(1, cores / shardCount));
+
+        XmlSuite suite = new Parser(suiteFile.toString()).parseToList().get(0);
+        List<List<Unit>> shards = assign(units(suite, strategy), shardCount);
+
+        deleteRecursively(SHARD_ROOT);
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        List<Path> shardDirs = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).isEmpty()) {
+                continue;
+            }
+            Path shardDir = SHARD_ROOT.resolve("shard-" + (i + 1));
+            shardDirs.add(shardDir);
+            results.add(launch(i + 1, shardDir, shardSuite(suite, shards.get(i), i + 1, threads), shards.size(), threads));
+        }
+
+        int exitCode = 0;
+        for (CompletableFuture<Integer> result : results) {
+            exitCode = Math.max(exitCode, result.join());
+        }
+        log.info(String.format("%d shards finished in %.1f s", shardDirs.size(), (System.currentTimeMillis() - start) / 1000.0));
+
+        merge(shardDirs);
+        System.exit(exitCode);
+    }
+
+    /**
+     * A schedulable piece of the suite: a whole class, or a single method, of one &lt;test&gt;.
+     */
+    private static final class Unit {
+        private final XmlTest test;
+        private final String className;
+        private final String methodName; // null for the whole class
+        private final long weight;
+
+        private Unit(XmlTest test, String className, String methodName, long weight) {
+            this.test = test;
+            this.className = className;
+            this.methodName = methodName;
+            this.weight = weight;
+        }
+    }
+
+    private static List<Unit> units(XmlSuite suite, Strategy strategy) {
+        List<Unit> units = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            String browser = test.getParameter("browser");
+            for (XmlClass xmlClass : test.getClasses()) {
+                List<String> methods = testMethods(xmlClass);
+                if (strategy == Strategy.CLASS) {
+                    units.add(new Unit(test, xmlClass.getName(), null, methods.size()));
+                    continue;
+                }
+                String simpleName = xmlClass.getName().substring(xmlClass.getName().lastIndexOf('.') + 1);
+                for (String method : methods) {
+                    long weight = strategy == Strategy.HISTORY
+                            ? DurationHistory.estimate(LptScheduler.key(simpleName, method, browser)) : 1;
+                    units.add(new Unit(test, xmlClass.getName(), method, weight));
+                }
+            }
+        }
+        if (strategy == Strategy.HISTORY) {
+            // Methods that never ran count as an average one
+            long known = units.stream().filter(unit -> unit.weight >= 0).count();
+            long mean = known == 0 ? 1 : units.stream().filter(unit -> unit.weight >= 0).mapToLong(unit -> unit.weight).sum() / known;
+            units.replaceAll(unit -> unit.weight >= 0 ? unit : new Unit(unit.test, unit.className, unit.methodName, mean));
+        }
+        return units;
+    }
+
+    private static List<String> testMethods(XmlClass xmlClass) {
+        if (!xmlClass.getIncludedMethods().isEmpty()) {
+            return xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).collect(Collectors.toList());
+        }
+        try {
+            Class<?> testClass = Class.forName(xmlClass.getName(), false, ShardLauncher.class.getClassLoader());
+            return Arrays.stream(testClass.getMethods())
+                    .filter(method -> method.isAnnotationPresent(Test.class))
+                    .map(Method::getName)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Test class not on the classpath: " + xmlClass.getName(), e);
+        }
+    }
+
+    /**
+     * Longest-processing-time-first: each unit, heaviest first, goes to the least loaded shard.
+     */
+    private static List<List<Unit>> assign(List<Unit> units, int shardCount) {
+        List<List<Unit>> shards = new ArrayList<>();
+        long[] load = new long[shardCount];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(i -> load[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+        List<Unit> heaviestFirst = new ArrayList<>(units);
+        heaviestFirst.sort(Comparator.comparingLong((Unit unit) -> unit.weight).reversed());
+        for (Unit unit : heaviestFirst) {
+            int shard = leastLoaded.poll();
+            shards.get(shard).add(unit);
+            load[shard] += unit.weight;
+            leastLoaded.add(shard);
+        }
+        for (int i = 0; i < shardCount; i++) {
+            log.info("Shard " + (i + 1) + ": " + shards.get(i).size() + " units, weight " + load[i]);
+        }
+        return shards;
+    }
+
+    /**
+     * Builds a suite with the same settings and listeners as the original, restricted to the shard's units.
+     */
+    private static XmlSuite shardSuite(XmlSuite suite, List<Unit> units, int index, int threads) {
+        XmlSuite shardSuite = new XmlSuite();
+        shardSuite.setName(suite.getName() + " - shard " + index);
+        shardSuite.setParallel(suite.getParallel());
+        shardSuite.setThreadCount(threads); // Written onto every <test>, so it has to be the per-shard value
+        shardSuite.setVerbose(suite.getVerbose());
+        shardSuite.setParameters(suite.getParameters());
+        shardSuite.setListeners(suite.getListeners());
+
+        for (XmlTest test : suite.getTests()) { // Keep the original <test> order
+            Map<String, XmlClass> classes = new LinkedHashMap<>();
+            for (Unit unit : units) {
+                if (unit.test != test) {
+                    continue;
+                }
+                XmlClass xmlClass = classes.computeIfAbsent(unit.className, name -> new XmlClass(name, false));
+                if (unit.methodName != null) {
+                    List<XmlInclude> includes = new ArrayList<>(xmlClass.getIncludedMethods());
+                    includes.add(new XmlInclude(unit.methodName));
+                    xmlClass.setIncludedMethods(includes);
+                }
+            }
+            if (classes.isEmpty()) {
+                continue;
+            }
+            XmlTest shardTest = new XmlTest(shardSuite);
+            shardTest.setName(test.getName());
+            shardTest.setParallel(test.getParallel());
+            shardTest.setParameters(test.getLocalParameters());
+            shardTest.setXmlClasses(new ArrayList<>(classes.values()));
+        }
+        return shardSuite;
+    }
+
+    private static CompletableFuture<Integer> launch(int index, Path shardDir, XmlSuite shardSuite, int shardCount, int threads) throws IOException {
+        Files.createDirectories(shardDir);
+        Path suiteFile = shardDir.resolve("testng-shard.xml");
+        try (Writer writer = Files.newBufferedWriter(suiteFile, StandardCharsets.UTF_8)) {
+            writer.write(shardSuite.toXml());
+        }
+
+        long retryBudget = Long.getLong("retry.budgetSeconds", 300) / shardCount;
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-D") && !SHARD_PROPERTIES.contains(argument.substring(2).split("=", 2)[0])) {
+                command.add(argument);
+            }
+        }
+        command.add("-Dshard.index=" + index);
+        command.add("-Dthreads=" + threads);
+        command.add("-Ddriver.pool.size=" + Integer.getInteger("driver.pool.size", threads));
+        command.add("-Dretry.budgetSeconds=" + Math.max(1, retryBudget));
+        command.add("-Dhistory.dir=" + HistoryStore.file("").toAbsolutePath());
+        command.add("-Dbank.server.port=0"); // Each shard serves its own local bank app
+        command.add("-cp");
+        command.add(absoluteClasspath());
+        command.add("org.testng.TestNG");
+        command.add(suiteFile.toString());
+
+        long start = System.currentTimeMillis();
+        Process process = new ProcessBuilder(command)
+                .directory(shardDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(shardDir.resolve("console.log").toFile())
+                .start();
+        log.info("Started shard " + index + " (pid " + process.pid() + ", " + threads + " threads)");
+        return process.onExit().thenApply(finished -> {
+            log.info(String.format("Shard %d exited with %d after %.1f s", index, finished.exitValue(),
+                    (System.currentTimeMillis() - start) / 1000.0));
+            return finished.exitValue();
+        });
+    }
+
+    /**
+     * The shards run in their own directories, so relative classpath entries are made absolute.
+     */
+    private static String absoluteClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(entry -> Paths.get(entry).toAbsolutePath().toString())
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static void merge(List<Path> shardDirs) throws IOException {
+        List<Path> eventFiles = new ArrayList<>();
+        Map<String, String> movedScreenshots = new HashMap<>();
+        Path screenshots = OUTPUT.resolve("Screenshots");
+        Path mergedLog = OUTPUT.resolve("logs").resolve("automation.log");
+        Files.createDirectories(mergedLog.getParent());
+        Files.deleteIfExists(mergedLog);
+
+        for (Path shardDir : shardDirs) {
+            String shard = shardDir.getFileName().toString();
+            Path shardOutput = shardDir.resolve("test-output");
+            eventFiles.addAll(list(shardOutput.resolve("ExtentReports"), "*.events.jsonl"));
+
+            for (Path screenshot : list(shardOutput.resolve("Screenshots"), "*")) {
+                Path target = screenshots.resolve(shard + "_" + screenshot.getFileName());
+                Files.createDirectories(screenshots);
+                Files.move(screenshot, target, StandardCopyOption.REPLACE_EXISTING);
+                movedScreenshots.put(screenshot.toAbsolutePath().toString(), target.toAbsolutePath().toString());
+            }
+
+            // webdriver-timings.json, page-performance.json, ...
+            for (Path metrics : list(shardOutput.resolve("metrics"), "*.json")) {
+                String name = metrics.getFileName().toString();
+                Path target = OUTPUT.resolve("metrics").resolve(name.substring(0, name.length() - ".json".length()) + "-" + shard + ".json");
+                Files.createDirectories(target.getParent());
+                Files.copy(metrics, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            Path shardLog = shardDir.resolve("logs").resolve("automation.log");
+            if (Files.exists(shardLog)) {
+                try (Stream<String> lines = Files.lines(shardLog, StandardCharsets.UTF_8)) {
+                    Files.write(mergedLog, (Iterable<String>) lines.map(line -> "[" + shard + "] " + line)::iterator,
+                            StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+            }
+        }
+
+        Path report = OUTPUT.resolve("ExtentReports").resolve("Test-Automation Report-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + "-merged.html");
+        ReportRenderer.render(eventFiles, report, path -> movedScreenshots.getOrDefault(path, path));
+        log.info("Merged " + eventFiles.size() + " event logs into " + report + ", logs into " + mergedLog);
+    }
+
+    private static List<Path> list(Path dir, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+                stream.forEach(files::add);
+            }
+        }
+        files.sort(Comparator.naturalOrder());
+        return files;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
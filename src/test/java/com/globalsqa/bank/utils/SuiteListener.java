@@ -0,0 +1,97 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Suite-wide lifecycle hooks: shared resources are created on start and
+ * released (with their statistics reported) once every test has finished.
+ * Also scales the suite's thread count to the machine ({@code -Dthreads}, default: number of cores);
+ * with parallel="tests" those threads are split evenly among the &lt;test&gt; blocks.
+ */
+public class SuiteListener implements ISuiteListener, IAlterSuiteListener {
+
+    private static final Logger log = LogManager.getLogger(SuiteListener.class);
+
+    private long suiteStartMillis;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() == XmlSuite.ParallelMode.TESTS && !suite.getTests().isEmpty()) {
+                // Every <test> runs at once and the threads are shared out among their methods
+                int tests = suite.getTests().size();
+                int perTest = Math.max(1, (threads + tests - 1) / tests);
+                suite.setThreadCount(tests);
+                suite.getTests().forEach(test -> test.setThreadCount(perTest));
+                log.info("Suite '" + suite.getName() + "' runs " + tests + " tests in parallel with " + perTest + " threads each");
+            } else {
+                suite.setThreadCount(threads);
+                log.info("Suite '" + suite.getName() + "' runs parallel=" + suite.getParallel() + " with " + threads + " threads");
+            }
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartMillis = System.currentTimeMillis();
+        TestLogCapture.install();
+        log.info("Suite started: " + suite.getName());
+        if (LocalBankServer.isEnabled()) {
+            LocalBankServer.start();
+        }
+        log.info("Test data seed: " + TestDataGenerator.getSeed() + " (replay with -Dtestdata.seed=" + TestDataGenerator.getSeed() + ")");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.shutdown();
+        LocalBankServer.stop();
+        String poolSummary = DriverPool.summary();
+        log.info(poolSummary);
+        log.info(CustomerSource.summary());
+        CommandTimings.writeJson(CommandTimings.defaultReportFile());
+        if (PagePerformance.isEnabled()) {
+            PagePerformance.writeJson(PagePerformance.defaultReportFile());
+            PagePerformance.report(ExtentManager.getEventLog());
+        }
+
+        FlakeHistory.save();
+        DurationHistory.save();
+
+        String throughput = throughput(suite);
+        log.info(throughput);
+
+        ScreenshotWriter.awaitPending(60); // Flush barrier: every screenshot on disk before the report is written
+        ExtentManager.setSystemInfo("Driver Pool Hit Rate", String.format("%.0f%%", DriverPool.getHitRate() * 100));
+        ExtentManager.setSystemInfo("Driver Startup Time Saved", DriverPool.getStartupTimeSaved().toMillis() + " ms");
+        ExtentManager.setSystemInfo("Mean Session Isolation Time", DriverPool.getMeanIsolationTime().toMillis() + " ms");
+        ExtentManager.setSystemInfo("Throughput", throughput);
+        ExtentManager.setSystemInfo("Test Data Seed", String.valueOf(TestDataGenerator.getSeed()));
+        ExtentManager.setSystemInfo("Retry Budget Left", RetryAnalyzer.getRemainingBudgetMillis() / 1000 + " s");
+        ExtentManager.flushReport();
+        log.info("Suite finished: " + suite.getName());
+    }
+
+    /**
+     * @return Executed tests per minute of wall-clock time, the figure the testng.xml target refers to.
+     */
+    private String throughput(ISuite suite) {
+        int tests = 0;
+        for (ISuiteResult result : suite.getResults().values()) {
+            ITestContext context = result.getTestContext();
+            tests += context.getPassedTests().size() + context.getFailedTests().size() + context.getSkippedTests().size();
+        }
+        double minutes = Math.max(1, System.currentTimeMillis() - suiteStartMillis) / 60_000.0;
+        return String.format("%d tests in %.1f min = %.1f tests/minute", tests, minutes, tests / minutes);
+    }
+}
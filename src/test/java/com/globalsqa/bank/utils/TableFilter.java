@@ -0,0 +1,98 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a search filter to an Angular-filtered table and reads the result in one async script call.
+ *
+ * The script replaces the search field's value (input/change events, so ng-model sees it), waits for
+ * Angular to settle, then samples the rows once per animation frame. It returns as soon as either
+ * every row visibly contains the search text (case-insensitive, like Angular's filter) or the rows
+ * are identical in two consecutive frames with no ngAnimate enter/leave in progress. Angular's
+ * filter may also match fields the table does not show, which is what the stability check covers.
+ */
+public final class TableFilter {
+
+    private static final long FILTER_TIMEOUT_MILLIS = 10_000;
+
+    private static final String FILTER_SCRIPT =
+            "var inputXpath = arguments[0], text = arguments[1], rowsXpath = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1], deadline = Date.now() + timeout, needle = text.toLowerCase();" +
+            "function first(xpath) {" +
+            "  return document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "}" +
+            "function rows() {" +
+            "  var result = [], animating = false;" +
+            "  var nodes = document.evaluate(rowsXpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  for (var i = 0; i < nodes.snapshotLength; i++) {" +
+            "    var row = nodes.snapshotItem(i), cells = row.querySelectorAll('td'), values = [];" +
+            "    if (/\\bng-(enter|leave|animate)\\b/.test(row.className)) { animating = true; }" +
+            "    for (var j = 0; j < cells.length; j++) { values.push(cells[j].innerText.trim()); }" +
+            "    result.push(values);" +
+            "  }" +
+            "  return {cells: result, animating: animating, key: JSON.stringify(result)};" +
+            "}" +
+            "function matches(table) {" +
+            "  return !needle || table.cells.every(function(values) {" +
+            "    return values.some(function(v) { return v.toLowerCase().indexOf(needle) >= 0; });" +
+            "  });" +
+            "}" +
+            // requestAnimationFrame does not fire in a hidden tab, so fall back to a short timer
+            "function nextFrame(callback) {" +
+            "  var called = false, once = function() { if (!called) { called = true; callback(); } };" +
+            "  requestAnimationFrame(once); setTimeout(once, 50);" +
+            "}" +
+            "function sample(previous) {" +
+            "  var table = rows();" +
+            "  if (!table.animating && (matches(table) || (previous && previous.key === table.key))) { done({rows: table.cells}); return; }" +
+            "  if (Date.now() > deadline) { done({error: 'Table did not settle for filter \"' + text + '\"'}); return; }" +
+            "  nextFrame(function() { sample(table); });" +
+            "}" +
+            "function whenStable(next) {" +
+            "  try {" +
+            "    var root = document.querySelector('[ng-app]') || document.body;" +
+            "    if (window.angular && angular.getTestability) { angular.getTestability(root).whenStable(next); return; }" +
+            "  } catch (e) { }" +
+            "  setTimeout(next, 0);" +
+            "}" +
+            "(function apply() {" +
+            "  var input = first(inputXpath);" +
+            "  if (!input) {" +
+            "    if (Date.now() > deadline) { done({error: 'No search field ' + inputXpath}); return; }" +
+            "    setTimeout(apply, 10); return;" +
+            "  }" +
+            "  if (input.value !== text) {" +
+            "    input.value = text;" +
+            "    input.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "    input.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  }" +
+            "  whenStable(function() { sample(null); });" +
+            "})();";
+
+    private TableFilter() {
+    }
+
+    /**
+     * Sets the search field to {@code text} and returns the table once it reflects the filter.
+     * @param driver The WebDriver instance.
+     * @param inputXpath XPath of the search input.
+     * @param text The filter text; empty to show every row.
+     * @param rowsXpath XPath selecting the table's body rows (tr elements).
+     * @return Snapshot of the filtered rows, possibly empty.
+     * @throws TimeoutException If the field is missing or the table keeps changing.
+     */
+    @SuppressWarnings("unchecked")
+    public static TableSnapshot apply(WebDriver driver, String inputXpath, String text, String rowsXpath) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(FILTER_SCRIPT, inputXpath, text, rowsXpath, FILTER_TIMEOUT_MILLIS);
+        if (result.containsKey("error")) {
+            throw new TimeoutException((String) result.get("error"));
+        }
+        return TableSnapshot.fromCells((List<List<Object>>) result.get("rows"));
+    }
+}
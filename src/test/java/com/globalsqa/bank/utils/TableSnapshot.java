@@ -0,0 +1,161 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Immutable copy of an HTML table's body cells, read in a single script call.
+ * Replaces per-row findElements + per-cell getText (1 + rows x (1 + cells) round trips).
+ */
+public final class TableSnapshot {
+
+    // Rows are located with the page objects' own XPath so snapshots see exactly what the locators see
+    private static final String CAPTURE_SCRIPT =
+            "var result = [];" +
+            "var rows = document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "for (var i = 0; i < rows.snapshotLength; i++) {" +
+            "  var cells = rows.snapshotItem(i).querySelectorAll('td');" +
+            "  var row = [];" +
+            "  for (var j = 0; j < cells.length; j++) { row.push(cells[j].innerText.trim()); }" +
+            "  result.push(row);" +
+            "}" +
+            "return result;";
+
+    private final List<Row> rows;
+
+    private TableSnapshot(List<Row> rows) {
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Reads every row matched by the XPath in one script execution.
+     * @param driver The WebDriver instance.
+     * @param rowsXpath XPath selecting the table's body rows (tr elements).
+     * @return The snapshot; empty if no rows match.
+     */
+    @SuppressWarnings("unchecked")
+    public static TableSnapshot capture(WebDriver driver, String rowsXpath) {
+        List<List<Object>> raw = (List<List<Object>>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT, rowsXpath);
+        return fromCells(raw);
+    }
+
+    /**
+     * Builds a snapshot from already extracted cell values.
+     * @param raw Row-major cell values.
+     * @return The snapshot.
+     */
+    public static TableSnapshot fromCells(List<? extends List<?>> raw) {
+        List<Row> rows = new ArrayList<>(raw == null ? 0 : raw.size());
+        if (raw != null) {
+            for (int i = 0; i < raw.size(); i++) {
+                List<?> rawCells = raw.get(i);
+                String[] cells = new String[rawCells.size()];
+                for (int j = 0; j < cells.length; j++) {
+                    cells[j] = String.valueOf(rawCells.get(j));
+                }
+                rows.add(new Row(i, cells));
+            }
+        }
+        return new TableSnapshot(rows);
+    }
+
+    public List<Row> rows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * @return The first row matching the predicate, if any.
+     */
+    public Optional<Row> find(Predicate<Row> predicate) {
+        for (Row row : rows) {
+            if (predicate.test(row)) {
+                return Optional.of(row);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the first row whose leading columns equal the given values, in order.
+     * @param values Expected values of columns 0..n-1.
+     * @return The matching row, if any.
+     */
+    public Optional<Row> findByColumns(String... values) {
+        return find(row -> row.matches(0, values));
+    }
+
+    /**
+     * @return All values of one column; rows too short for it are skipped.
+     */
+    public List<String> column(int index) {
+        List<String> values = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (index < row.size()) {
+                values.add(row.cell(index));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * One table row: its position in the table and its trimmed cell texts.
+     */
+    public static final class Row {
+        private final int index;
+        private final String[] cells;
+
+        private Row(int index, String[] cells) {
+            this.index = index;
+            this.cells = cells;
+        }
+
+        /**
+         * @return Zero-based position of the row in the table body.
+         */
+        public int index() {
+            return index;
+        }
+
+        public int size() {
+            return cells.length;
+        }
+
+        public String cell(int column) {
+            return cells[column];
+        }
+
+        /**
+         * @return true if the columns starting at {@code firstColumn} equal the given values.
+         */
+        public boolean matches(int firstColumn, String... values) {
+            if (firstColumn + values.length > cells.length) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (!cells[firstColumn + i].equals(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" | ", cells);
+        }
+    }
+}
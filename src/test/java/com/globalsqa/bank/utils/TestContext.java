@@ -0,0 +1,66 @@
+package com.globalsqa.bank.utils;
+
+import com.globalsqa.bank.pages.CustomerAccountPage;
+import com.globalsqa.bank.pages.LoginPage;
+import com.globalsqa.bank.pages.ManagerPage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Fixture state of one test invocation. Test class instances are shared by every
+ * thread when TestNG runs with parallel="methods", so nothing per-test may live in
+ * instance fields; BaseTest keeps one context per thread instead.
+ */
+public final class TestContext {
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private LoginPage loginPage;
+    private ManagerPage managerPage;
+    private CustomerAccountPage customerAccountPage;
+    private Customer customer;
+
+    public TestContext(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public WebDriverWait getWait() {
+        return wait;
+    }
+
+    public LoginPage getLoginPage() {
+        return loginPage;
+    }
+
+    public void setLoginPage(LoginPage loginPage) {
+        this.loginPage = loginPage;
+    }
+
+    public ManagerPage getManagerPage() {
+        return managerPage;
+    }
+
+    public void setManagerPage(ManagerPage managerPage) {
+        this.managerPage = managerPage;
+    }
+
+    public CustomerAccountPage getCustomerAccountPage() {
+        return customerAccountPage;
+    }
+
+    public void setCustomerAccountPage(CustomerAccountPage customerAccountPage) {
+        this.customerAccountPage = customerAccountPage;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+}
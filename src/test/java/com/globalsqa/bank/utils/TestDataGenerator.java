@@ -0,0 +1,106 @@
+package com.globalsqa.bank.utils;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe, collision-free test data. Every call draws the next value of one lock-free
+ * counter and maps it onto precomputed name tables, so two tests never get the same full
+ * name, even when running in parallel. Once every first/last name pair has been used,
+ * an alphabetic suffix is appended to the last name.
+ *
+ * The tables are shuffled with the run's seed (-Dtestdata.seed, random by default and logged
+ * at suite start). Running again with the same seed produces the same sequence of customers;
+ * which test gets which one still depends on thread timing when tests run in parallel.
+ */
+public final class TestDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bruno", "Chloe", "Daniel", "Elena", "Felix", "Grace", "Hugo",
+            "Isla", "Jonas", "Kira", "Leon", "Maya", "Nolan", "Olivia", "Pablo",
+            "Quinn", "Rosa", "Samuel", "Tara", "Umar", "Vera", "Walter", "Xenia",
+            "Yusuf", "Zoe", "Aaron", "Bianca", "Caleb", "Daria", "Emil", "Freya",
+            "Gavin", "Hanna", "Ivan", "Julia", "Karl", "Lena", "Marco", "Nina",
+            "Oscar", "Petra", "Rafael", "Selin", "Tobias", "Ursula", "Victor", "Wendy",
+            "Adrian", "Beatriz", "Cyrus", "Delia", "Ezra", "Fiona", "Gustav", "Helga",
+            "Iris", "Jasper", "Kemal", "Livia", "Magnus", "Nadia", "Otto", "Paula"};
+
+    // No surnames of the app's built-in customers (Granger, Potter, Weasly, Dumbledore, Longbottom)
+    private static final String[] LAST_NAMES = {
+            "Anders", "Baker", "Castillo", "Dawson", "Eriksen", "Fischer", "Garcia", "Hartmann",
+            "Ibsen", "Jensen", "Kowalski", "Lindqvist", "Moreau", "Novak", "Ortega", "Petrov",
+            "Quintero", "Rossi", "Schmidt", "Tanaka", "Ueda", "Varga", "Weber", "Xavier",
+            "Yilmaz", "Zimmer", "Albrecht", "Brennan", "Costa", "Dubois", "Engel", "Ferreira",
+            "Gallagher", "Horvat", "Ivanova", "Janssen", "Keller", "Lopez", "Mendes", "Nielsen",
+            "Olsen", "Pereira", "Reyes", "Santos", "Torres", "Vogel", "Wagner", "Young",
+            "Arslan", "Berger", "Carvalho", "Demir", "Evans", "Fontaine", "Graham", "Holm",
+            "Iglesias", "Jovanovic", "Kaya", "Lambert", "Meyer", "Nowak", "Ozturk", "Palmer"};
+
+    private static final long SEED = Long.getLong("testdata.seed", new Random().nextLong());
+
+    private static final String[] firstNames = shuffled(FIRST_NAMES, SEED);
+    private static final String[] lastNames = shuffled(LAST_NAMES, ~SEED);
+    private static final AtomicLong counter = new AtomicLong();
+
+    private TestDataGenerator() {
+    }
+
+    /**
+     * @return The seed of this run, to replay it with -Dtestdata.seed.
+     */
+    public static long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * @return A customer whose full name has not been generated before in this JVM.
+     */
+    public static Customer nextCustomer() {
+        long n = counter.getAndIncrement();
+        String firstName = firstNames[(int) (n % firstNames.length)];
+        long pair = n / firstNames.length;
+        String lastName = lastNames[(int) (pair % lastNames.length)];
+        long round = pair / lastNames.length;
+        if (round > 0) {
+            lastName = lastName + suffix(round);
+        }
+        return new Customer(firstName, lastName, postCode(n));
+    }
+
+    /**
+     * Five digits derived from the counter and the seed.
+     */
+    private static String postCode(long n) {
+        return Integer.toString(10000 + (int) Math.floorMod(mix(n ^ SEED), 90000L));
+    }
+
+    /**
+     * 1 -> "a", 26 -> "z", 27 -> "aa", ... (letters only, names must not contain digits).
+     */
+    private static String suffix(long round) {
+        StringBuilder suffix = new StringBuilder();
+        for (long r = round; r > 0; r = (r - 1) / 26) {
+            suffix.append((char) ('a' + (r - 1) % 26));
+        }
+        return suffix.reverse().toString();
+    }
+
+    // SplitMix64 finalizer: spreads consecutive counter values over the whole range
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String[] shuffled(String[] names, long seed) {
+        String[] copy = names.clone();
+        Random random = new Random(seed);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return copy;
+    }
+}
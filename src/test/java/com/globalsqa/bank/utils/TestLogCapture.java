@@ -0,0 +1,153 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appender that buffers each test's log lines in memory so they can be attached to its report entry.
+ * Lines are routed by the test id in the {@link ThreadContext} ("test"), which async loggers copy
+ * into every event, so it works no matter which thread finally appends the event.
+ *
+ * {@link #end()} logs an end marker through the same ring buffer and waits for it to reach this
+ * appender: every line the test logged before it has then been captured too.
+ * At most -Dlog.capture.maxLines (default 500) lines are kept per test.
+ */
+public final class TestLogCapture extends AbstractAppender {
+
+    public static final String TEST_KEY = "test";
+
+    private static final Logger log = LogManager.getLogger(TestLogCapture.class);
+    private static final Marker END_MARKER = MarkerManager.getMarker("TEST_LOG_END");
+    private static final int MAX_LINES = Integer.getInteger("log.capture.maxLines", 500);
+    private static final long END_TIMEOUT_MILLIS = 2_000;
+
+    private static final Map<String, Capture> captures = new ConcurrentHashMap<>();
+    private static final AtomicLong ids = new AtomicLong();
+    private static volatile boolean installed;
+
+    private TestLogCapture(PatternLayout layout) {
+        super("TestLogCapture", null, layout, true, Property.EMPTY_ARRAY);
+    }
+
+    /**
+     * Attaches the appender to the root logger. Called once at suite start.
+     * The end markers go to a logger of their own that only this appender listens to.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Configuration config = context.getConfiguration();
+        TestLogCapture appender = new TestLogCapture(PatternLayout.newBuilder()
+                .withConfiguration(config)
+                .withPattern("%d{HH:mm:ss.SSS} %-5level %logger{1} - %msg%n")
+                .build());
+        appender.start();
+        config.addAppender(appender);
+        config.getRootLogger().addAppender(appender, null, null);
+        LoggerConfig markers = new LoggerConfig(TestLogCapture.class.getName(), Level.INFO, false);
+        markers.addAppender(appender, null, null);
+        config.addLogger(markers.getName(), markers);
+        context.updateLoggers();
+        installed = true;
+    }
+
+    /**
+     * Starts capturing the current thread's log lines for a test. No-op if a capture is already running.
+     * @param testName Qualified test name, e.g. "ManagerTests.testDeleteCustomer".
+     */
+    public static void begin(String testName) {
+        if (ThreadContext.containsKey(TEST_KEY)) {
+            return;
+        }
+        String id = testName + "#" + ids.incrementAndGet(); // Unique per invocation, retries included
+        captures.put(id, new Capture());
+        ThreadContext.put(TEST_KEY, id);
+    }
+
+    /**
+     * Stops the current thread's capture.
+     * @return The captured lines, each ending with a line break; empty if nothing was captured.
+     */
+    public static List<String> end() {
+        String id = ThreadContext.get(TEST_KEY);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        Capture capture = captures.get(id);
+        if (installed) {
+            log.info(END_MARKER, id);
+            try {
+                if (!capture.ended.await(END_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    capture.add("(log capture incomplete: end marker not seen after " + END_TIMEOUT_MILLIS + " ms)\n");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ThreadContext.remove(TEST_KEY);
+        captures.remove(id);
+        return capture.lines();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String id = event.getContextData().getValue(TEST_KEY);
+        Capture capture = id == null ? null : captures.get(id);
+        if (capture == null) {
+            return;
+        }
+        if (END_MARKER.equals(event.getMarker())) {
+            capture.ended.countDown();
+        } else {
+            capture.add(getLayout().toSerializable(event).toString());
+        }
+    }
+
+    /**
+     * Lines of one test. Appended to by the async logger thread, or by the logging thread
+     * itself when the ring buffer is full, hence synchronized.
+     */
+    private static final class Capture {
+        private final List<String> lines = new ArrayList<>();
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private int dropped;
+
+        synchronized void add(String line) {
+            if (lines.size() < MAX_LINES) {
+                lines.add(line);
+            } else {
+                dropped++;
+            }
+        }
+
+        synchronized List<String> lines() {
+            List<String> copy = new ArrayList<>(lines);
+            if (dropped > 0) {
+                copy.add("(" + dropped + " more lines not captured, see logs/automation.log)\n");
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.globalsqa.bank.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.IConfigurationListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Records and replays WebDriver traffic per test, see {@link DriverMode}.
+ *
+ * Each test invocation, from its @BeforeMethod to the end of its @AfterMethod, gets a trace named
+ * like its duration history entry, "Class.method[browser]", in -Dtrace.dir (default
+ * test-output/traces). While recording, {@link #filter()} sits in the HTTP client of every session
+ * {@link DriverPool} starts and writes each request/response to the trace of the test using it;
+ * the customers the test uses are stored along with it. In replay mode {@link #openReplay()}
+ * serves the current test's trace through a {@link ReplayDriver}, and {@link CustomerSource} hands
+ * out the recorded customers again.
+ *
+ * Replays assume the same configuration as the recording (execution, fixture and alert modes,
+ * page performance capture), since those decide which commands are sent.
+ */
+public class TraceRecorder implements IConfigurationListener {
+
+    private static final Logger log = LogManager.getLogger(TraceRecorder.class);
+
+    private static final DriverMode MODE = DriverMode.current();
+    private static final Path TRACE_DIR = Paths.get(System.getProperty("trace.dir",
+            Paths.get(System.getProperty("user.dir"), "test-output", "traces").toString()));
+
+    private static final ThreadLocal<String> currentTrace = new ThreadLocal<>();
+    private static final ThreadLocal<WireTrace.Writer> writer = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Customer>> replayedCustomers = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeConfiguration(ITestResult result, ITestNGMethod testMethod) {
+        if (testMethod == null || !result.getMethod().isBeforeMethodConfiguration()) {
+            return;
+        }
+        closeWriter();
+        String name = LptScheduler.key(testMethod.getRealClass().getSimpleName(), testMethod.getMethodName(),
+                result.getTestContext().getCurrentXmlTest().getParameter("browser"));
+        currentTrace.set(name);
+        if (MODE == DriverMode.RECORD) {
+            try {
+                writer.set(WireTrace.open(traceFile(name)));
+            } catch (IOException e) {
+                log.error("Could not start trace " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result, ITestNGMethod testMethod) {
+        if (result.getMethod().isAfterMethodConfiguration()) {
+            closeWriter();
+        }
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result, ITestNGMethod testMethod) {
+        if (result.getMethod().isAfterMethodConfiguration()) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * HTTP client filter that copies every exchange into the trace of the test running on the
+     * calling thread. Exchanges outside a test (e.g. a pool shutting down) are not recorded.
+     */
+    public static Filter filter() {
+        return filter(writer::get);
+    }
+
+    /**
+     * @param traces Supplies the trace to write to on the calling thread, or null to pass the exchange through.
+     */
+    static Filter filter(Supplier<WireTrace.Writer> traces) {
+        return next -> request -> {
+            WireTrace.Writer trace = traces.get();
+            if (trace == null) {
+                return next.execute(request);
+            }
+            String body = Contents.string(request);
+            request.setContent(Contents.utf8String(body)); // Reading consumed it; hand the driver a fresh copy
+            HttpResponse response = next.execute(request);
+            String responseBody = Contents.string(response);
+            response.setContent(Contents.utf8String(responseBody));
+            try {
+                trace.exchange(request.getMethod().name(), WireTrace.normalizePath(request.getUri()),
+                        WireTrace.canonicalJson(body), response.getStatus(), WireTrace.withoutLocalPort(responseBody));
+            } catch (IOException e) {
+                log.error("Could not write trace entry: " + e.getMessage());
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Stores a customer handed out to the current test's trace, so the replay uses the same one.
+     */
+    static void recordCustomer(Customer customer) {
+        WireTrace.Writer trace = writer.get();
+        if (trace != null) {
+            try {
+                trace.customer(customer);
+            } catch (IOException e) {
+                log.error("Could not write trace entry: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return The next customer the current test was given when it was recorded.
+     */
+    static Customer replayedCustomer() {
+        Customer customer = replayedCustomers.get().poll();
+        if (customer == null) {
+            throw new IllegalStateException("The trace of " + currentTrace.get() + " has no more customers");
+        }
+        return customer;
+    }
+
+    /**
+     * Opens a driver that replays the current test's trace.
+     * @throws SkipException If the test has no recorded trace.
+     */
+    static ReplayDriver openReplay() {
+        String name = currentTrace.get();
+        if (name == null) {
+            throw new IllegalStateException("No test is running on this thread");
+        }
+        Path file = traceFile(name);
+        if (!Files.exists(file)) {
+            throw new SkipException("No recorded trace for " + name + " in " + TRACE_DIR);
+        }
+        try {
+            WireTrace trace = WireTrace.read(file);
+            replayedCustomers.set(new ArrayDeque<>(trace.customers()));
+            return new ReplayDriver(trace);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read trace " + file, e);
+        }
+    }
+
+    private static Path traceFile(String name) {
+        return TRACE_DIR.resolve(name.replaceAll("[^A-Za-z0-9._\\[\\]-]", "_") + ".trace.gz");
+    }
+
+    private static void closeWriter() {
+        WireTrace.Writer trace = writer.get();
+        if (trace != null) {
+            writer.remove();
+            try {
+                trace.close();
+            } catch (IOException e) {
+                log.error("Could not close trace: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.globalsqa.bank.utils;
+
+import com.globalsqa.bank.pages.TransactionsPage;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpCommandCodec;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser-free checks of trace recording and replay: a page object runs once against a scripted
+ * stand-in for the browser driver, with its traffic going through {@link TraceRecorder#filter()},
+ * and once more against a {@link ReplayDriver} serving what was recorded.
+ */
+public class TraceReplayTests {
+
+    private static final String TRANSACTIONS_PATH = "/angularJs-protractor/BankingProject/#/listTx";
+
+    @Test
+    public void testReplayReadsTransactionsRecordedOnAnotherPort() throws IOException {
+        Path file = Files.createTempFile("transactions", ".trace.gz");
+        try {
+            List<Map<String, String>> recorded;
+            try (WireTrace.Writer trace = WireTrace.open(file)) {
+                HttpHandler browser = TraceRecorder.filter(() -> trace).andFinally(new ScriptedBrowser());
+                WebDriver driver = new RemoteWebDriver(new HttpExecutor(browser), new ImmutableCapabilities("browserName", "scripted"));
+                recorded = readTransactions(driver, "http://localhost:41873" + TRANSACTIONS_PATH);
+            }
+
+            WireTrace trace = WireTrace.read(file);
+            for (WireTrace.Exchange exchange : trace.exchanges()) {
+                Assert.assertFalse(exchange.key.contains("41873"), "Local port recorded in " + exchange.key);
+            }
+            // The local server picks a free port per run, so the replay navigates to a different one
+            List<Map<String, String>> replayed = readTransactions(new ReplayDriver(trace), "http://localhost:52904" + TRANSACTIONS_PATH);
+
+            Assert.assertEquals(recorded.size(), 2);
+            Assert.assertEquals(replayed, recorded);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Map<String, String>> readTransactions(WebDriver driver, String url) {
+        driver.get(url);
+        return new TransactionsPage(driver, WaitPolicy.newWait(driver)).getAllTransactions(2);
+    }
+
+    /**
+     * Sends commands over an in-process HTTP handler, encoded and decoded like a real session's.
+     */
+    private static final class HttpExecutor implements CommandExecutor {
+
+        private static final SessionId SESSION = new SessionId("scripted");
+
+        private final W3CHttpCommandCodec commandCodec = new W3CHttpCommandCodec();
+        private final W3CHttpResponseCodec responseCodec = new W3CHttpResponseCodec();
+        private final HttpHandler handler;
+
+        private HttpExecutor(HttpHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public Response execute(Command command) {
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                Response response = new Response(SESSION);
+                response.setState("success");
+                response.setValue(new ImmutableCapabilities("browserName", "scripted").asMap());
+                return response;
+            }
+            Response decoded = responseCodec.decode(handler.execute(commandCodec.encode(command)));
+            decoded.setSessionId(SESSION.toString());
+            return decoded;
+        }
+    }
+
+    /**
+     * Answers like a browser showing the transactions view: Angular is stable, every element is
+     * displayed, and the table has one row on the first read and two from then on, so the page
+     * object polls more than once.
+     */
+    private static final class ScriptedBrowser implements HttpHandler {
+
+        private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+        private final Json json = new Json();
+        private int tableReads;
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            String path = request.getUri();
+            Object value = null;
+            if (path.endsWith("/execute/async")) {
+                value = true;
+            } else if (path.endsWith("/element")) {
+                value = Collections.singletonMap(ELEMENT_KEY, "table");
+            } else if (path.endsWith("/execute/sync")) {
+                Map<String, Object> body = json.toType(Contents.string(request), Map.class);
+                List<?> args = (List<?>) body.get("args");
+                value = args.get(0) instanceof Map ? Boolean.TRUE : table(++tableReads == 1 ? 1 : 2); // Displayed check, or a table read
+            }
+            return new HttpResponse()
+                    .setHeader("Content-Type", "application/json; charset=utf-8")
+                    .setContent(Contents.utf8String(json.toJson(Collections.singletonMap("value", value))));
+        }
+
+        private static List<List<String>> table(int rows) {
+            List<List<String>> cells = List.of(
+                    List.of("Jan 1, 2025 10:00:00 AM", "500", "Credit"),
+                    List.of("Jan 1, 2025 10:00:05 AM", "200", "Debit"));
+            return cells.subList(0, rows);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.globalsqa.bank.utils;
+
+/**
+ * Outcome of a deposit or withdrawal: the status message shown under the form and the balance afterwards.
+ */
+public final class TransactionResult {
+    private final String message;
+    private final String balance;
+
+    /**
+     * @param balance The balance as the page shows it.
+     */
+    public TransactionResult(String message, String balance) {
+        this.message = message;
+        this.balance = balance;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getBalance() {
+        return Integer.parseInt(balance);
+    }
+
+    /**
+     * @return The balance exactly as the page shows it, e.g. with decimals or in exponent notation.
+     */
+    public String getBalanceText() {
+        return balance;
+    }
+
+    @Override
+    public String toString() {
+        return message + " (balance " + balance + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * The one place waits come from. Sessions run with an implicit wait of zero, so a lookup
+ * that finds nothing returns at once instead of blocking inside every poll of an explicit
+ * wait; all synchronization goes through the explicit waits built here.
+ *
+ * Timeout and polling interval are set with -Dwait.timeoutSeconds (default 15) and
+ * -Dwait.pollingMillis (default 50, Selenium's own default is 500; 0 when replaying a trace,
+ * whose answers need no pacing). Every wait records how long its condition took in
+ * {@link CommandTimings}, keyed by page method and condition.
+ */
+public final class WaitPolicy {
+
+    public static final Duration IMPLICIT_WAIT = Duration.ZERO;
+    public static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("wait.timeoutSeconds", 15));
+    public static final Duration POLLING = Duration.ofMillis(Integer.getInteger("wait.pollingMillis",
+            DriverMode.current() == DriverMode.REPLAY ? 0 : 50));
+
+    private WaitPolicy() {
+    }
+
+    /**
+     * Applies the session-level part of the policy (implicit wait) to a new driver.
+     */
+    public static void applyTo(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
+    }
+
+    /**
+     * @return An explicit wait with the policy's timeout and polling interval that records its timings.
+     */
+    public static WebDriverWait newWait(WebDriver driver) {
+        return new TimedWait(driver);
+    }
+
+    /**
+     * Negative condition that holds as soon as no element matching the locator is displayed.
+     * With the implicit wait at zero each poll is a single findElements call, so it completes
+     * in milliseconds once the elements are gone, instead of waiting out a lookup timeout.
+     */
+    public static ExpectedCondition<Boolean> absenceOf(By locator) {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                for (WebElement element : driver.findElements(locator)) {
+                    try {
+                        if (element.isDisplayed()) {
+                            return false;
+                        }
+                    } catch (StaleElementReferenceException e) {
+                        // Removed from the DOM between the lookup and the check: gone
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "absence of " + locator;
+            }
+        };
+    }
+
+    /**
+     * WebDriverWait that reports each condition's duration to {@link CommandTimings}.
+     */
+    private static final class TimedWait extends WebDriverWait {
+
+        private TimedWait(WebDriver driver) {
+            super(driver, TIMEOUT, POLLING);
+            ignoring(StaleElementReferenceException.class);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            long start = System.nanoTime();
+            boolean timedOut = false;
+            try {
+                return super.until(isTrue);
+            } catch (TimeoutException e) {
+                timedOut = true;
+                throw e;
+            } finally {
+                CommandTimings.recordWait(describe(isTrue), System.nanoTime() - start, timedOut);
+            }
+        }
+
+        private static String describe(Function<?, ?> condition) {
+            String name = condition.getClass().getName();
+            int lambda = name.indexOf("$$Lambda");
+            if (lambda < 0) {
+                return condition.toString(); // ExpectedConditions describe themselves
+            }
+            return name.substring(name.lastIndexOf('.') + 1, lambda) + " condition";
+        }
+    }
+}
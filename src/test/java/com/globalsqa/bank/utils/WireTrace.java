@@ -0,0 +1,199 @@
+package com.globalsqa.bank.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A recorded stream of WebDriver wire-protocol exchanges: gzipped JSON lines, one per HTTP
+ * request/response pair ({"m": method, "p": path, "b": request body, "s": status, "r": response body}),
+ * interleaved with the customers the test was given ({"customer": {...}}) so a replay gets the same data.
+ *
+ * Paths are stored without the session id and request bodies with sorted keys, so the same command
+ * always has the same {@link #key(String, String, String) key} whichever session sent it. URLs of the
+ * local app (-Dbank.target=local) are stored without their port, which the server picks per run;
+ * a replay puts the port of its own run back into the responses.
+ */
+final class WireTrace {
+
+    private static final Json JSON = new Json();
+    private static final Pattern SESSION_PREFIX = Pattern.compile("^/session/[^/]+");
+    // Request bodies come from Selenium's JSON writer, which escapes every "/"; browser drivers do not
+    private static final Pattern LOCAL_ORIGIN = Pattern.compile("(http:(?://|\\\\u002f\\\\u002f)localhost:)\\d+");
+    private static final String ANY_LOCAL_PORT = "localhost:{port}";
+
+    /**
+     * One request and the response the browser driver gave to it.
+     */
+    static final class Exchange {
+        final String key;
+        final int status;
+        final String response;
+
+        private Exchange(String key, int status, String response) {
+            this.key = key;
+            this.status = status;
+            this.response = response;
+        }
+    }
+
+    private final List<Exchange> exchanges;
+    private final List<Customer> customers;
+
+    private WireTrace(List<Exchange> exchanges, List<Customer> customers) {
+        this.exchanges = Collections.unmodifiableList(exchanges);
+        this.customers = Collections.unmodifiableList(customers);
+    }
+
+    List<Exchange> exchanges() {
+        return exchanges;
+    }
+
+    List<Customer> customers() {
+        return customers;
+    }
+
+    static WireTrace read(Path file) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Map<String, Object> entry = JSON.toType(line, Map.class);
+                if (entry.containsKey("customer")) {
+                    Map<?, ?> customer = (Map<?, ?>) entry.get("customer");
+                    customers.add(new Customer((String) customer.get("first"), (String) customer.get("last"), (String) customer.get("post")));
+                } else {
+                    exchanges.add(new Exchange(key((String) entry.get("m"), (String) entry.get("p"), (String) entry.get("b")),
+                            ((Number) entry.get("s")).intValue(), (String) entry.get("r")));
+                }
+            }
+        }
+        return new WireTrace(exchanges, customers);
+    }
+
+    static Writer open(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return new Writer(new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return The lookup key of a request: method, session-less path and canonical body.
+     */
+    static String key(String method, String path, String body) {
+        return method + " " + path + (body == null || body.isEmpty() ? "" : " " + body);
+    }
+
+    /**
+     * "/session/4f1c.../element" becomes "/session/:id/element".
+     */
+    static String normalizePath(String uri) {
+        return SESSION_PREFIX.matcher(uri).replaceFirst("/session/:id");
+    }
+
+    /**
+     * @return The JSON body with object keys sorted, no whitespace and no local app port, or null for an empty body.
+     */
+    static String canonicalJson(String body) {
+        if (body == null || body.trim().isEmpty()) {
+            return null;
+        }
+        return withoutLocalPort(compact(sorted(JSON.toType(body, Object.class))));
+    }
+
+    /**
+     * "http://localhost:41873/..." becomes "http://localhost:{port}/...".
+     */
+    static String withoutLocalPort(String text) {
+        return text == null ? null : LOCAL_ORIGIN.matcher(text).replaceAll("$1{port}");
+    }
+
+    /**
+     * Puts the port of this run's local app back into a recorded text.
+     */
+    static String withLocalPort(String text) {
+        if (text == null || !text.contains(ANY_LOCAL_PORT) || !LocalBankServer.isEnabled()) {
+            return text;
+        }
+        return text.replace(ANY_LOCAL_PORT, "localhost:" + LocalBankServer.start());
+    }
+
+    private static Object sorted(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> sorted.put(String.valueOf(k), sorted(v)));
+            return sorted;
+        } else if (value instanceof List) {
+            List<Object> sorted = new ArrayList<>();
+            ((List<?>) value).forEach(v -> sorted.add(sorted(v)));
+            return sorted;
+        }
+        return value;
+    }
+
+    private static String compact(Object value) {
+        StringBuilder json = new StringBuilder();
+        JSON.newOutput(json).setPrettyPrint(false).write(value);
+        return json.toString();
+    }
+
+    /**
+     * Appends entries to a trace file. Used by one test thread at a time.
+     */
+    static final class Writer implements Closeable {
+        private final BufferedWriter out;
+
+        private Writer(BufferedWriter out) {
+            this.out = out;
+        }
+
+        synchronized void exchange(String method, String path, String body, int status, String response) throws IOException {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("m", method);
+            entry.put("p", path);
+            if (body != null) {
+                entry.put("b", body);
+            }
+            entry.put("s", status);
+            entry.put("r", response);
+            write(entry);
+        }
+
+        synchronized void customer(Customer customer) throws IOException {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("first", customer.getFirstName());
+            fields.put("last", customer.getLastName());
+            fields.put("post", customer.getPostCode());
+            write(Collections.singletonMap("customer", fields));
+        }
+
+        private void write(Object entry) throws IOException {
+            out.write(compact(entry));
+            out.newLine();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Stand-in for the XYZ Bank AngularJS demo application.
+ * Data lives in localStorage under "User", "Account" and "Transaction" and is re-read on every page load,
+ * exactly like the hosted app, so fixtures seeded by CustomerFixtures behave the same way here.
+ */
+var app = angular.module('BankingProject', ['ngRoute']);
+
+app.config(['$routeProvider', '$locationProvider', function ($routeProvider, $locationProvider) {
+    $locationProvider.hashPrefix('');
+    $routeProvider
+        .when('/login', {templateUrl: 'login.html', controller: 'loginController'})
+        .when('/customer', {templateUrl: 'customer.html', controller: 'customerController'})
+        .when('/account', {templateUrl: 'account.html', controller: 'accountController'})
+        .when('/listTx', {templateUrl: 'listTx.html', controller: 'listTxController'})
+        .when('/manager/:tab?', {templateUrl: 'manager.html', controller: 'managerController'})
+        .otherwise({redirectTo: '/login'});
+}]);
+
+app.factory('bankStore', ['$window', function ($window) {
+    var storage = $window.localStorage;
+
+    function defaultUsers() {
+        var names = [['Hermoine', 'Granger', 'E859AB'], ['Harry', 'Potter', 'E725JB'], ['Ron', 'Weasly', 'E55555'],
+            ['Albus', 'Dumbledore', 'E55656'], ['Neville', 'Longbottom', 'E89898']];
+        var users = {}, accounts = {}, currencies = ['Dollar', 'Pound', 'Rupee'], no = 1001;
+        names.forEach(function (n, i) {
+            var id = i + 1;
+            users[id] = {fName: n[0], lName: n[1], id: id, postCd: n[2], accountNo: [], date: new Date()};
+            currencies.forEach(function (currency) {
+                accounts[no] = {accountNo: no, currency: currency, amount: 0};
+                users[id].accountNo.push(no++);
+            });
+        });
+        return {users: users, accounts: accounts};
+    }
+
+    function read(key) {
+        return JSON.parse(storage.getItem(key) || '{}');
+    }
+
+    function write(key, value) {
+        storage.setItem(key, JSON.stringify(value));
+    }
+
+    if (!storage.getItem('User')) {
+        var defaults = defaultUsers();
+        write('User', defaults.users);
+        write('Account', defaults.accounts);
+        write('Transaction', {});
+    }
+
+    var users = read('User'), accounts = read('Account'), transactions = read('Transaction');
+
+    function nextKey(map, floor) {
+        return Object.keys(map).reduce(function (max, k) { return Math.max(max, +k); }, floor) + 1;
+    }
+
+    function save() {
+        write('User', users);
+        write('Account', accounts);
+        write('Transaction', transactions);
+    }
+
+    return {
+        currentUser: null,
+        currentAccount: null,
+        customers: function () {
+            return Object.keys(users).map(function (k) { return users[k]; });
+        },
+        user: function (id) { return users[id]; },
+        account: function (no) { return accounts[no]; },
+        addCustomer: function (fName, lName, postCd) {
+            var duplicate = this.customers().some(function (u) {
+                return u.fName === fName && u.lName === lName && u.postCd === postCd;
+            });
+            if (duplicate) {
+                return null;
+            }
+            var id = nextKey(users, 0);
+            users[id] = {fName: fName, lName: lName, id: id, postCd: postCd, accountNo: [], date: new Date()};
+            save();
+            return id;
+        },
+        openAccount: function (userId, currency) {
+            var no = nextKey(accounts, 1000);
+            accounts[no] = {accountNo: no, currency: currency, amount: 0};
+            users[userId].accountNo.push(no);
+            save();
+            return no;
+        },
+        deleteCustomer: function (userId) {
+            (users[userId].accountNo || []).forEach(function (no) {
+                delete accounts[no];
+                delete transactions[no];
+            });
+            delete users[userId];
+            save();
+        },
+        transactions: function (no) { return transactions[no] || []; },
+        addTransaction: function (no, amount, type) {
+            accounts[no].amount += (type === 'Credit' ? amount : -amount);
+            (transactions[no] = transactions[no] || []).push({amount: amount, type: type, date: new Date()});
+            save();
+        },
+        resetTransactions: function (no) {
+            delete transactions[no];
+            save();
+        }
+    };
+}]);
+
+app.controller('mainController', ['$scope', '$location', 'bankStore', function ($scope, $location, bankStore) {
+    $scope.home = function () {
+        bankStore.currentUser = null;
+        $location.path('/login');
+    };
+    $scope.byebye = function () {
+        bankStore.currentUser = null;
+        $location.path('/customer');
+    };
+    $scope.$on('$routeChangeSuccess', function () {
+        $scope.logout = bankStore.currentUser !== null;
+    });
+}]);
+
+app.controller('loginController', ['$scope', '$location', function ($scope, $location) {
+    $scope.customer = function () { $location.path('/customer'); };
+    $scope.manager = function () { $location.path('/manager'); };
+}]);
+
+app.controller('customerController', ['$scope', '$location', 'bankStore', function ($scope, $location, bankStore) {
+    $scope.Customers = bankStore.customers();
+    $scope.custId = '';
+    $scope.showAccount = function () {
+        bankStore.currentUser = +$scope.custId;
+        bankStore.currentAccount = null;
+        $location.path('/account');
+    };
+}]);
+
+app.controller('accountController', ['$scope', '$location', 'bankStore', function ($scope, $location, bankStore) {
+    if (bankStore.currentUser === null) {
+        $location.path('/customer');
+        return;
+    }
+    $scope.user = bankStore.user(bankStore.currentUser);
+    $scope.accountNo = bankStore.currentAccount || $scope.user.accountNo[0];
+    $scope.form = {};
+
+    $scope.selectAccount = function () {
+        bankStore.currentAccount = $scope.accountNo;
+        $scope.account = bankStore.account($scope.accountNo);
+        $scope.message = '';
+    };
+    $scope.selectAccount();
+
+    $scope.transactions = function () { $location.path('/listTx'); };
+    $scope.deposit = function () { $scope.mode = 'deposit'; $scope.message = ''; $scope.form = {}; };
+    $scope.withdrawl = function () { $scope.mode = 'withdrawl'; $scope.message = ''; $scope.form = {}; };
+
+    $scope.submitDeposit = function () {
+        var amount = Number($scope.form.amount);
+        if (!(amount > 0)) { return; }
+        bankStore.addTransaction($scope.accountNo, amount, 'Credit');
+        $scope.message = 'Deposit Successful';
+        $scope.form = {};
+    };
+    $scope.submitWithdrawl = function () {
+        var amount = Number($scope.form.amount);
+        if (!(amount > 0)) { return; }
+        if (amount > $scope.account.amount) {
+            $scope.message = 'Transaction Failed. You can not withdraw amount more than the balance.';
+        } else {
+            bankStore.addTransaction($scope.accountNo, amount, 'Debit');
+            $scope.message = 'Transaction successful';
+        }
+        $scope.form = {};
+    };
+}]);
+
+app.controller('listTxController', ['$scope', '$location', '$timeout', 'bankStore', function ($scope, $location, $timeout, bankStore) {
+    if (bankStore.currentUser === null) {
+        $location.path('/customer');
+        return;
+    }
+    var accountNo = bankStore.currentAccount || bankStore.user(bankStore.currentUser).accountNo[0];
+    $scope.showReset = true;
+    $scope.transactions = [];
+    // The hosted app fills the table asynchronously; keep that so synchronization is exercised
+    $timeout(function () { $scope.transactions = bankStore.transactions(accountNo); }, 50);
+
+    $scope.back = function () { $location.path('/account'); };
+    $scope.reset = function () {
+        bankStore.resetTransactions(accountNo);
+        $scope.transactions = [];
+    };
+}]);
+
+app.controller('managerController', ['$scope', '$location', '$routeParams', '$window', 'bankStore',
+    function ($scope, $location, $routeParams, $window, bankStore) {
+        $scope.tab = $routeParams.tab;
+        $scope.Customers = bankStore.customers();
+        $scope.form = {};
+        $scope.filters = {searchCustomer: ''};
+
+        $scope.addCust = function () { $location.path('/manager/addCust'); };
+        $scope.openAccount = function () { $location.path('/manager/openAccount'); };
+        $scope.showCust = function () { $location.path('/manager/list'); };
+
+        $scope.addCustomer = function () {
+            var id = bankStore.addCustomer($scope.form.fName, $scope.form.lName, $scope.form.postCd);
+            if (id === null) {
+                $window.alert('Please check the details. Customer may be duplicate.');
+                return;
+            }
+            $window.alert('Customer added successfully with customer id :' + id);
+            $scope.form = {};
+        };
+        $scope.process = function () {
+            var no = bankStore.openAccount(+$scope.form.custId, $scope.form.currency);
+            $window.alert('Account created successfully with account Number :' + no);
+            $scope.form = {};
+        };
+        $scope.deleteCust = function (cust) {
+            bankStore.deleteCustomer(cust.id);
+            $scope.Customers = bankStore.customers();
+        };
+    }]);